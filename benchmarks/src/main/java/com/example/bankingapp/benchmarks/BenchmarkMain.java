@@ -0,0 +1,17 @@
+package com.example.bankingapp.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BenchmarkMain {
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of(args));
+        if(!arguments.contains("-rf")) arguments.addAll(List.of("-rf", "json"));
+        if(!arguments.contains("-rff")) arguments.addAll(List.of("-rff", DEFAULT_RESULT_FILE));
+        Main.main(arguments.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bankingapp.benchmarks;
+
+import com.example.bankingapp.entities.account.Account;
+import com.example.bankingapp.entities.account.AccountStatus;
+import com.example.bankingapp.entities.account.AccountType;
+import com.example.bankingapp.entities.customer.Customer;
+import com.example.bankingapp.entities.loan.Loan;
+import com.example.bankingapp.entities.loan.LoanStatus;
+import com.example.bankingapp.entities.loan.LoanType;
+import com.example.bankingapp.entities.transaction.Transaction;
+import com.example.bankingapp.entities.transaction.TransactionStatus;
+import com.example.bankingapp.entities.transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class Fixtures {
+    private Fixtures(){}
+
+    static Customer customer(long id){
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setName("Customer " + id);
+        customer.setUsername("customer" + id);
+        return customer;
+    }
+
+    static Account account(long id, Customer customer){
+        Account account = new Account();
+        account.setId(id);
+        account.setAccountType(AccountType.SAVINGS);
+        account.setAccountStatus(AccountStatus.ACTIVE);
+        account.setBalance(BigDecimal.valueOf(100_000));
+        account.setDateOfIssuance(LocalDate.now().minusYears(1));
+        account.setCustomer(customer);
+        return account;
+    }
+
+    static Transaction transfer(long id, Account fromAccount, Account toAccount, BigDecimal amount){
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        transaction.setDateOfTransaction(LocalDateTime.now());
+        transaction.setAmount(amount);
+        transaction.setFromAccount(fromAccount);
+        transaction.setToAccount(toAccount);
+        transaction.setTransactionType(TransactionType.TRANSFERRED);
+        transaction.setTransactionStatus(TransactionStatus.SUCCESS);
+        transaction.setFromBalanceAfter(fromAccount.getBalance().subtract(amount));
+        transaction.setToBalanceAfter(toAccount.getBalance().add(amount));
+        return transaction;
+    }
+
+    static List<Transaction> mixedTransactions(int size, long seed){
+        TransactionType[] types = TransactionType.values();
+        TransactionStatus[] statuses = {TransactionStatus.SUCCESS, TransactionStatus.SUCCESS,
+                TransactionStatus.SUCCESS, TransactionStatus.FAILED};
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Transaction> transactions = new ArrayList<>(size);
+        for(int i = 0; i < size; i++){
+            Transaction transaction = new Transaction();
+            transaction.setAmount(BigDecimal.valueOf(random.nextInt(1, 50_000)));
+            transaction.setTransactionType(types[random.nextInt(types.length)]);
+            transaction.setTransactionStatus(statuses[random.nextInt(statuses.length)]);
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    static Loan disbursedLoan(int tenureInMonths, boolean withMonthlyRepayments){
+        Loan loan = new Loan();
+        loan.setLoanType(LoanType.HOME);
+        loan.setLoanStatus(LoanStatus.DISBURSED);
+        loan.setPrincipalAmount(BigDecimal.valueOf(2_500_000));
+        loan.setRateOfInterest(BigDecimal.valueOf(8.40));
+        loan.setTenureInMonths(tenureInMonths);
+        loan.setDateOfIssuance(LocalDate.now().minusMonths(tenureInMonths));
+        if(withMonthlyRepayments){
+            BigDecimal emi = loan.calculateEMI();
+            for(int month = 0; month < tenureInMonths; month++){
+                Transaction repayment = new Transaction();
+                repayment.setId((long) month + 1);
+                repayment.setTransactionType(TransactionType.LOAN_REPAYMENT);
+                repayment.setTransactionStatus(TransactionStatus.SUCCESS);
+                repayment.setAmount(month % 5 == 0 ? emi.divide(BigDecimal.valueOf(2)) : emi);
+                repayment.setDateOfTransaction(loan.getDateOfIssuance().plusMonths(month).plusDays(3).atStartOfDay());
+                loan.getTransactions().add(repayment);
+            }
+        }
+        return loan;
+    }
+}
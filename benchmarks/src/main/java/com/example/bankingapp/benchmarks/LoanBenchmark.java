@@ -0,0 +1,65 @@
+package com.example.bankingapp.benchmarks;
+
+import com.example.bankingapp.entities.loan.Loan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LoanBenchmark {
+    @Param({"12", "120", "360"})
+    private int tenureInMonths;
+
+    private Loan loan;
+    private Loan amortizedLoan;
+
+    @State(Scope.Thread)
+    public static class FreshLoan {
+        private Loan loan;
+
+        @Setup(Level.Invocation)
+        public void setUp(LoanBenchmark benchmark){
+            loan = Fixtures.disbursedLoan(benchmark.tenureInMonths, true);
+        }
+    }
+
+    @Setup
+    public void setUp(){
+        loan = Fixtures.disbursedLoan(tenureInMonths, true);
+        amortizedLoan = Fixtures.disbursedLoan(tenureInMonths, true);
+        amortizedLoan.rollAmortizationForward(LocalDate.now());
+    }
+
+    @Benchmark
+    public BigDecimal calculateEMI(){
+        return loan.calculateEMI();
+    }
+
+    @Benchmark
+    public BigDecimal outstandingAmountFromRepaymentHistory(FreshLoan fresh){
+        return fresh.loan.getOutstandingAmount();
+    }
+
+    @Benchmark
+    public BigDecimal outstandingAmountFromAmortizedBalance(){
+        return amortizedLoan.getOutstandingAmount();
+    }
+}
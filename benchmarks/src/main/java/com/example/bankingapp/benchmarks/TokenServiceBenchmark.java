@@ -0,0 +1,57 @@
+package com.example.bankingapp.benchmarks;
+
+import com.example.bankingapp.Role;
+import com.example.bankingapp.service.TokenService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TokenServiceBenchmark {
+    private TokenService tokenService;
+    private String token;
+
+    @Setup
+    public void setUp(){
+        tokenService = new TokenService();
+        token = tokenService.generateToken("customer1", Role.CUSTOMER);
+        tokenService.authenticate(token);
+    }
+
+    @Benchmark
+    public String sign(){
+        return tokenService.generateToken("customer1", Role.CUSTOMER);
+    }
+
+    @Benchmark
+    public Claims verify(){
+        return tokenService.validateToken(token);
+    }
+
+    @Benchmark
+    public TokenService.VerifiedToken authenticateCached(){
+        return tokenService.authenticate(token);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public TokenService.VerifiedToken authenticateCachedContended(){
+        return tokenService.authenticate(token);
+    }
+}
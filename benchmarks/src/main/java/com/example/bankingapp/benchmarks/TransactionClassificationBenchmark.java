@@ -0,0 +1,64 @@
+package com.example.bankingapp.benchmarks;
+
+import com.example.bankingapp.entities.transaction.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TransactionClassificationBenchmark {
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp(){
+        transactions = Fixtures.mixedTransactions(size, 42L);
+    }
+
+    @Benchmark
+    public int countDebits(){
+        int debits = 0;
+        for(Transaction transaction : transactions){
+            if(transaction.isDebit()) debits++;
+        }
+        return debits;
+    }
+
+    @Benchmark
+    public int countCredits(){
+        int credits = 0;
+        for(Transaction transaction : transactions){
+            if(transaction.isCredit()) credits++;
+        }
+        return credits;
+    }
+
+    @Benchmark
+    public BigDecimal netSuccessfulFlow(){
+        BigDecimal net = BigDecimal.ZERO;
+        for(Transaction transaction : transactions){
+            if(transaction.isCredit()) net = net.add(transaction.getAmount());
+            else if(transaction.isDebit()) net = net.subtract(transaction.getAmount());
+        }
+        return net;
+    }
+}
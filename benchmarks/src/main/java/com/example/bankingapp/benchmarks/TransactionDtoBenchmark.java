@@ -0,0 +1,101 @@
+package com.example.bankingapp.benchmarks;
+
+import com.example.bankingapp.dto.principal.CustomerPrincipal;
+import com.example.bankingapp.dto.transaction.TransactionResponseDTO;
+import com.example.bankingapp.dto.transaction.TransactionSummaryDTO;
+import com.example.bankingapp.dto.transaction.TransactionSummaryView;
+import com.example.bankingapp.entities.account.Account;
+import com.example.bankingapp.entities.customer.Customer;
+import com.example.bankingapp.entities.transaction.Transaction;
+import com.example.bankingapp.entities.transaction.TransactionStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TransactionDtoBenchmark {
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private Transaction transaction;
+    private CustomerPrincipal sender;
+    private TransactionSummaryView view;
+    private PagedModel<TransactionSummaryDTO> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp(){
+        Customer fromCustomer = Fixtures.customer(1L);
+        Customer toCustomer = Fixtures.customer(2L);
+        Account fromAccount = Fixtures.account(11L, fromCustomer);
+        Account toAccount = Fixtures.account(12L, toCustomer);
+        transaction = Fixtures.transfer(101L, fromAccount, toAccount, BigDecimal.valueOf(2_000));
+        sender = new CustomerPrincipal(fromCustomer.getId(), fromCustomer.getUsername(), fromCustomer.getName());
+        view = summaryView(transaction);
+
+        List<TransactionSummaryDTO> content = new ArrayList<>(pageSize);
+        for(int i = 0; i < pageSize; i++){
+            Transaction row = Fixtures.transfer(1_000L + i, fromAccount, toAccount, BigDecimal.valueOf(100 + i));
+            content.add(new TransactionSummaryDTO(summaryView(row), fromCustomer.getId()));
+        }
+        page = new PagedModel<>(new PageImpl<>(content,
+                PageRequest.of(0, pageSize, Sort.by("dateOfTransaction")), 50_000L));
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static TransactionSummaryView summaryView(Transaction transaction){
+        return new TransactionSummaryView(transaction.getId(), transaction.getDateOfTransaction(),
+                transaction.getAmount(), TransactionStatus.SUCCESS,
+                transaction.getFromAccount().getId(), transaction.getFromAccount().getCustomer().getId(),
+                transaction.getFromAccount().getCustomer().getName(), transaction.getFromBalanceAfter(),
+                transaction.getToAccount().getId(), transaction.getToAccount().getCustomer().getId(),
+                transaction.getToAccount().getCustomer().getName(), transaction.getToBalanceAfter());
+    }
+
+    @Benchmark
+    public TransactionResponseDTO responseDtoForCustomer(){
+        return new TransactionResponseDTO(transaction, sender);
+    }
+
+    @Benchmark
+    public TransactionResponseDTO responseDtoForEmployee(){
+        return new TransactionResponseDTO(transaction, null);
+    }
+
+    @Benchmark
+    public TransactionSummaryDTO summaryDto(){
+        return new TransactionSummaryDTO(view, sender.id());
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
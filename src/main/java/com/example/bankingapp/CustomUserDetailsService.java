@@ -1,7 +1,6 @@
 package com.example.bankingapp;
 
-import com.example.bankingapp.repository.CustomerRepository;
-import com.example.bankingapp.repository.EmployeeRepository;
+import com.example.bankingapp.repository.CredentialRepository;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,28 +12,20 @@ import java.util.List;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
-    private final CustomerRepository customerRepository;
-    private final EmployeeRepository employeeRepository;
+    private final CredentialRepository credentialRepository;
 
-    public CustomUserDetailsService(CustomerRepository customerRepository, EmployeeRepository employeeRepository){
-        this.customerRepository = customerRepository;
-        this.employeeRepository = employeeRepository;
+    public CustomUserDetailsService(CredentialRepository credentialRepository){
+        this.credentialRepository = credentialRepository;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return customerRepository.findByUsername(username)
-                .map(customer -> new User(
-                        customer.getUsername(),
-                        customer.getPassword(),
-                        List.of(new SimpleGrantedAuthority(customer.getRole().name()))
+        return credentialRepository.findByUsername(username)
+                .map(credential -> new User(
+                        credential.getUsername(),
+                        credential.getPassword(),
+                        List.of(new SimpleGrantedAuthority(credential.getRole().name()))
                 ))
-                .orElseGet(() -> employeeRepository.findByUsername(username)
-                        .map(employee -> new User(
-                                employee.getUsername(),
-                                employee.getPassword(),
-                                List.of(new SimpleGrantedAuthority(employee.getRole().name()))
-                        ))
-                        .orElseThrow(() -> new UsernameNotFoundException("User not found.")));
+                .orElseThrow(() -> new UsernameNotFoundException("User not found."));
     }
 }
@@ -1,21 +1,17 @@
 package com.example.bankingapp;
 
 import com.example.bankingapp.service.TokenService;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter{
@@ -33,14 +29,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter{
             String token = authHeader.substring(7);
 
             try{
-                Claims claims = tokenService.validateToken(token);
+                TokenService.VerifiedToken verified = tokenService.authenticate(token);
 
-                String username = claims.getSubject();
-                String role = claims.get("role", String.class);
-
-                List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-
-                Authentication authentication = new UsernamePasswordAuthenticationToken(username, null, authorities);
+                Authentication authentication = new UsernamePasswordAuthenticationToken(verified.username(), null, verified.authorities());
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             } catch (Exception e){
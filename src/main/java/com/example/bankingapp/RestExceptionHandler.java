@@ -31,6 +31,12 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
                 .body(new ErrorResponse(ex.getMessage(), HttpStatus.CONFLICT.value()));
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Object> handleIdempotencyKeyReused(Exception ex){
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(new ErrorResponse(ex.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY.value()));
+    }
+
     @ExceptionHandler({InvalidCredentialsException.class, EmployeeInactiveException.class})
     public ResponseEntity<Object> handleInvalidCredentials(Exception ex){
         return ResponseEntity
@@ -38,6 +44,13 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
                 .body(new ErrorResponse(ex.getMessage(), HttpStatus.UNAUTHORIZED.value()));
     }
 
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Object> handleLoginThrottled(Exception ex){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
     @ExceptionHandler({CustomerNotFoundException.class, AccountNotFoundException.class,
             EmployeeNotFoundException.class, TransactionNotFoundException.class,
             NotificationNotFoundException.class, LoanNotFoundException.class})
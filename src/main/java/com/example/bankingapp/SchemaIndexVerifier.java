@@ -0,0 +1,49 @@
+package com.example.bankingapp;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@ConditionalOnProperty(name = "banking.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier implements SmartInitializingSingleton {
+    static final List<String> REQUIRED_INDEXES = List.of(
+            "ux_customers_username",
+            "ux_customers_email",
+            "ux_customers_aadhar_no",
+            "ux_customers_phone_number",
+            "ux_employees_username",
+            "idx_accounts_customer",
+            "idx_transactions_from_account_date",
+            "idx_transactions_to_account_date",
+            "idx_transactions_loan_date",
+            "idx_notifications_customer_status_date",
+            "idx_loans_account_status_issuance",
+            "idx_idempotency_keys_created_at",
+            "idx_loans_status_due_date"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaIndexVerifier(JdbcTemplate jdbcTemplate){
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Set<String> present = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()", String.class));
+        List<String> missing = REQUIRED_INDEXES.stream()
+                .filter(index -> !present.contains(index))
+                .toList();
+        if(!missing.isEmpty()){
+            throw new IllegalStateException("Database is missing required indexes " + missing +
+                    ". Run the Flyway migrations in db/migration before starting the application.");
+        }
+    }
+}
@@ -4,17 +4,23 @@ import com.example.bankingapp.dto.account.AccountBalanceResponseDTO;
 import com.example.bankingapp.dto.account.AccountRequestDTO;
 import com.example.bankingapp.dto.account.AccountResponseDTO;
 import com.example.bankingapp.dto.account.AccountSummaryDTO;
+import com.example.bankingapp.dto.cursor.CursorSliceDTO;
+import com.example.bankingapp.dto.transaction.StatementFormat;
 import com.example.bankingapp.dto.transaction.TransactionResponseDTO;
 import com.example.bankingapp.dto.transaction.TransactionSummaryDTO;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
 import com.example.bankingapp.entities.transaction.TransactionType;
 import com.example.bankingapp.service.AccountService;
+import com.example.bankingapp.service.IdempotencyService;
+import com.example.bankingapp.service.StatementExportService;
 import com.example.bankingapp.utils.Endpoints;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.net.URI;
@@ -25,9 +31,21 @@ import java.util.List;
 @RestController
 public class AccountController {
     private final AccountService accountService;
+    private final StatementExportService statementExportService;
+    private final IdempotencyService idempotencyService;
 
-    public AccountController(AccountService accountService){
+    public AccountController(AccountService accountService, StatementExportService statementExportService,
+                             IdempotencyService idempotencyService){
         this.accountService = accountService;
+        this.statementExportService = statementExportService;
+        this.idempotencyService = idempotencyService;
+    }
+
+    private ResponseEntity<StreamingResponseBody> statement(StatementExportService.StatementRange range, StatementFormat format){
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + range.fileName(format) + "\"")
+                .body(statementExportService.export(range, format));
     }
 
     @GetMapping(Endpoints.CUSTOMER_ACCOUNTS_ALL)
@@ -56,6 +74,31 @@ public class AccountController {
         return ResponseEntity.ok(responseDTO);
     }
 
+    @GetMapping(Endpoints.CUSTOMER_ACCOUNT_TRANSACTION_CURSOR)
+    public ResponseEntity<CursorSliceDTO<TransactionSummaryDTO>> getAccountTransactionSlice(@PathVariable Long accountId,
+                                                                                            @RequestParam(required = false) String cursor,
+                                                                                            @RequestParam(defaultValue = "10", required = false) int size,
+                                                                                            @RequestParam(required = false) TransactionStatus status,
+                                                                                            @RequestParam(required = false) TransactionType type,
+                                                                                            @RequestParam(required = false) LocalDate fromDate,
+                                                                                            @RequestParam(required = false) LocalDate toDate,
+                                                                                            Principal principal){
+        CursorSliceDTO<TransactionSummaryDTO> responseDTO = accountService.getAccountTransactionSlice(accountId, cursor, size,
+                status, type, fromDate, toDate, principal.getName());
+        return ResponseEntity.ok(responseDTO);
+    }
+
+    @GetMapping(Endpoints.CUSTOMER_ACCOUNT_STATEMENT)
+    public ResponseEntity<StreamingResponseBody> exportAccountStatement(@PathVariable Long accountId,
+                                                                        @RequestParam(required = false) LocalDate fromDate,
+                                                                        @RequestParam(required = false) LocalDate toDate,
+                                                                        @RequestParam(required = false, defaultValue = "CSV") StatementFormat format,
+                                                                        Principal principal){
+        StatementExportService.StatementRange range = statementExportService.resolveCustomerStatement(accountId,
+                fromDate, toDate, principal.getName());
+        return statement(range, format);
+    }
+
     @PostMapping(Endpoints.CUSTOMER_ACCOUNT_CREATE)
     public ResponseEntity<AccountResponseDTO> createAccount(@Valid @RequestBody AccountRequestDTO requestDTO, Principal principal){
         AccountResponseDTO responseDTO = accountService.createAccountByCustomer(requestDTO, principal.getName());
@@ -119,6 +162,18 @@ public class AccountController {
         return ResponseEntity.ok(responseDTOS);
     }
 
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @GetMapping(Endpoints.EMPLOYEE_ACCOUNT_STATEMENT)
+    public ResponseEntity<StreamingResponseBody> exportAccountStatementByEmployee(@PathVariable Long accountId,
+                                                                                  @RequestParam(required = false) LocalDate fromDate,
+                                                                                  @RequestParam(required = false) LocalDate toDate,
+                                                                                  @RequestParam(required = false, defaultValue = "CSV") StatementFormat format,
+                                                                                  Principal principal){
+        StatementExportService.StatementRange range = statementExportService.resolveEmployeeStatement(accountId,
+                fromDate, toDate, principal.getName());
+        return statement(range, format);
+    }
+
     @PreAuthorize("hasRole('EMPLOYEE')")
     @GetMapping(Endpoints.EMPLOYEE_ACCOUNT_BALANCE)
     public ResponseEntity<AccountBalanceResponseDTO> getAccountBalanceByEmployee(@PathVariable Long accountId, Principal principal){
@@ -130,19 +185,27 @@ public class AccountController {
     @PostMapping(Endpoints.EMPLOYEE_ACCOUNT_DEPOSIT)
     public ResponseEntity<TransactionResponseDTO> depositFund(@PathVariable Long accountId,
                                                               @Valid @RequestParam BigDecimal fund,
+                                                              @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                                               Principal principal){
-        TransactionResponseDTO responseDTO = accountService.depositFund(accountId, fund, principal.getName());
+        IdempotencyService.Execution<TransactionResponseDTO> execution = idempotencyService.execute(idempotencyKey, principal.getName(), "deposit",
+                IdempotencyService.fingerprint("deposit", accountId, fund),
+                () -> accountService.depositFund(accountId, fund, principal.getName()));
+        TransactionResponseDTO responseDTO = execution.response();
         URI location = URI.create("/api/transaction/" + responseDTO.getTransactionId());
-        return ResponseEntity.created(location).body(responseDTO);
+        return ResponseEntity.created(location).headers(execution.headers()).body(responseDTO);
     }
 
     @PreAuthorize("hasRole('EMPLOYEE')")
     @PostMapping(Endpoints.EMPLOYEE_ACCOUNT_WITHDRAWAL)
     public ResponseEntity<TransactionResponseDTO> withdrawFund(@PathVariable Long accountId,
                                                                @Valid @RequestParam BigDecimal fund,
+                                                               @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                                                Principal principal){
-        TransactionResponseDTO responseDTO = accountService.withdrawFund(accountId, fund, principal.getName());
+        IdempotencyService.Execution<TransactionResponseDTO> execution = idempotencyService.execute(idempotencyKey, principal.getName(), "withdraw",
+                IdempotencyService.fingerprint("withdraw", accountId, fund),
+                () -> accountService.withdrawFund(accountId, fund, principal.getName()));
+        TransactionResponseDTO responseDTO = execution.response();
         URI location = URI.create("/api/transaction/" + responseDTO.getTransactionId());
-        return ResponseEntity.created(location).body(responseDTO);
+        return ResponseEntity.created(location).headers(execution.headers()).body(responseDTO);
     }
 }
@@ -1,8 +1,10 @@
 package com.example.bankingapp.controller;
 
+import com.example.bankingapp.dto.customer.CustomerDashboardDTO;
 import com.example.bankingapp.dto.customer.CustomerRequestDTO;
 import com.example.bankingapp.dto.customer.CustomerResponseDTO;
 import com.example.bankingapp.service.CustomerService;
+import com.example.bankingapp.service.DashboardService;
 import com.example.bankingapp.utils.Endpoints;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -21,9 +23,11 @@ import java.util.Map;
 @RestController
 public class CustomerController {
     private final CustomerService customerService;
+    private final DashboardService dashboardService;
 
-    public CustomerController(CustomerService customerService){
+    public CustomerController(CustomerService customerService, DashboardService dashboardService){
         this.customerService = customerService;
+        this.dashboardService = dashboardService;
     }
 
     private List<Map<String, Object>> getMaps(){
@@ -73,4 +77,10 @@ public class CustomerController {
         CustomerResponseDTO customerResponseDTO = customerService.getMyDetails(principal.getName());
         return ResponseEntity.status(HttpStatus.OK).body(customerResponseDTO);
     }
+
+    @GetMapping(Endpoints.CUSTOMER_DASHBOARD)
+    public ResponseEntity<CustomerDashboardDTO> getDashboard(Principal principal){
+        CustomerDashboardDTO dashboardDTO = dashboardService.getDashboard(principal.getName());
+        return ResponseEntity.status(HttpStatus.OK).body(dashboardDTO);
+    }
 }
@@ -9,6 +9,7 @@ import com.example.bankingapp.entities.loan.LoanStatus;
 import com.example.bankingapp.entities.loan.LoanType;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
 import com.example.bankingapp.entities.transaction.TransactionType;
+import com.example.bankingapp.service.IdempotencyService;
 import com.example.bankingapp.service.LoanService;
 import com.example.bankingapp.utils.Endpoints;
 import org.springframework.data.domain.Page;
@@ -23,9 +24,11 @@ import java.time.LocalDate;
 @RestController
 public class LoanController{
     private final LoanService loanService;
+    private final IdempotencyService idempotencyService;
 
-    public LoanController(LoanService loanService){
+    public LoanController(LoanService loanService, IdempotencyService idempotencyService){
         this.loanService = loanService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping(Endpoints.CUSTOMER_LOAN_APPLY)
@@ -48,10 +51,15 @@ public class LoanController{
     }
 
     @PostMapping(Endpoints.CUSTOMER_LOAN_REPAY)
-    public ResponseEntity<TransactionResponseDTO> repayLoan(@RequestBody LoanRepaymentDTO repaymentDTO, Principal principal){
-        TransactionResponseDTO responseDTO = loanService.repayLoan(repaymentDTO, principal.getName());
+    public ResponseEntity<TransactionResponseDTO> repayLoan(@RequestBody LoanRepaymentDTO repaymentDTO,
+                                                            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                            Principal principal){
+        IdempotencyService.Execution<TransactionResponseDTO> execution = idempotencyService.execute(idempotencyKey, principal.getName(), "loan.repay",
+                IdempotencyService.fingerprint("loan.repay", repaymentDTO.getLoanId(), repaymentDTO.getAmount()),
+                () -> loanService.repayLoan(repaymentDTO, principal.getName()));
+        TransactionResponseDTO responseDTO = execution.response();
         URI location = URI.create("/api/transaction/" + responseDTO.getTransactionId());
-        return ResponseEntity.created(location).body(responseDTO);
+        return ResponseEntity.created(location).headers(execution.headers()).body(responseDTO);
     }
 
     @GetMapping(Endpoints.CUSTOMER_LOAN_PARTICULAR)
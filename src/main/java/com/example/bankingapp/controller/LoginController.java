@@ -11,6 +11,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping(Endpoints.LOGIN)
 public class LoginController {
@@ -21,8 +23,7 @@ public class LoginController {
     }
 
     @PostMapping
-    public ResponseEntity<LoginResponseDTO> loginUser(@Valid @RequestBody LoginRequestDTO loginRequestDTO){
-        LoginResponseDTO responseDTO = loginService.loginUser(loginRequestDTO);
-        return ResponseEntity.ok(responseDTO);
+    public CompletableFuture<ResponseEntity<LoginResponseDTO>> loginUser(@Valid @RequestBody LoginRequestDTO loginRequestDTO){
+        return loginService.loginUser(loginRequestDTO).thenApply(ResponseEntity::ok);
     }
 }
@@ -1,6 +1,9 @@
 package com.example.bankingapp.controller;
 
+import com.example.bankingapp.dto.cursor.CursorSliceDTO;
 import com.example.bankingapp.dto.notification.NotificationResponseDTO;
+import com.example.bankingapp.dto.notification.ReadAllMode;
+import com.example.bankingapp.dto.notification.UnreadCountDTO;
 import com.example.bankingapp.entities.notification.NotificationStatus;
 import com.example.bankingapp.entities.notification.NotificationType;
 import com.example.bankingapp.service.NotificationService;
@@ -33,6 +36,18 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping(Endpoints.NOTIFICATIONS_CURSOR)
+    public ResponseEntity<CursorSliceDTO<NotificationResponseDTO>> getNotificationSlice(@RequestParam(required = false) String cursor,
+                                                                                        @RequestParam(required = false, defaultValue = "10") int size,
+                                                                                        @RequestParam(required = false) NotificationType type,
+                                                                                        @RequestParam(required = false) LocalDate fromDate,
+                                                                                        @RequestParam(required = false) LocalDate toDate,
+                                                                                        @RequestParam(required = false) NotificationStatus status,
+                                                                                        Principal principal){
+        CursorSliceDTO<NotificationResponseDTO> notifications = notificationService.getNotificationSlice(cursor, size, status, type, fromDate, toDate, principal.getName());
+        return ResponseEntity.ok(notifications);
+    }
+
     @GetMapping(Endpoints.NOTIFICATION_PARTICULAR)
     public ResponseEntity<NotificationResponseDTO> getNotification(@PathVariable Long notificationId, Principal principal){
         NotificationResponseDTO responseDTO = notificationService.getNotification(notificationId, principal.getName());
@@ -41,7 +56,14 @@ public class NotificationController {
 
     @PutMapping(Endpoints.NOTIFICATION_READ_ALL)
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void readAllNotifications(Principal principal){
-        notificationService.readAllNotifications(principal.getName());
+    public void readAllNotifications(@RequestParam(required = false, defaultValue = "ROWS") ReadAllMode mode,
+                                     Principal principal){
+        notificationService.readAllNotifications(mode, principal.getName());
+    }
+
+    @GetMapping(Endpoints.NOTIFICATIONS_UNREAD_COUNT)
+    public ResponseEntity<UnreadCountDTO> getUnreadCount(Principal principal){
+        UnreadCountDTO unreadCount = notificationService.getUnreadCount(principal.getName());
+        return ResponseEntity.ok(unreadCount);
     }
 }
@@ -1,12 +1,17 @@
 package com.example.bankingapp.controller;
 
+import com.example.bankingapp.dto.cursor.CursorSliceDTO;
+import com.example.bankingapp.dto.transaction.BulkTransferResultDTO;
 import com.example.bankingapp.dto.transaction.TransactionRequestDTO;
 import com.example.bankingapp.dto.transaction.TransactionResponseDTO;
 import com.example.bankingapp.dto.transaction.TransactionSummaryDTO;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
 import com.example.bankingapp.entities.transaction.TransactionType;
+import com.example.bankingapp.service.BulkTransferService;
+import com.example.bankingapp.service.IdempotencyService;
 import com.example.bankingapp.service.TransactionService;
 import com.example.bankingapp.utils.Endpoints;
+import com.fasterxml.jackson.core.type.TypeReference;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,22 +20,35 @@ import org.springframework.web.bind.annotation.*;
 import java.net.URI;
 import java.security.Principal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 public class TransactionController {
+    private static final TypeReference<List<BulkTransferResultDTO>> BULK_TRANSFER_RESULTS = new TypeReference<>() {};
+
     private final TransactionService transactionService;
+    private final BulkTransferService bulkTransferService;
+    private final IdempotencyService idempotencyService;
 
-    public TransactionController(TransactionService transactionService){
+    public TransactionController(TransactionService transactionService, BulkTransferService bulkTransferService,
+                                 IdempotencyService idempotencyService){
         this.transactionService = transactionService;
+        this.bulkTransferService = bulkTransferService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping(Endpoints.TRANSACTIONS_CUSTOMER_TRANSFER)
     public ResponseEntity<TransactionResponseDTO> transferFund(@RequestBody TransactionRequestDTO requestDTO,
+                                                               @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                                                Principal principal){
-        TransactionResponseDTO responseDTO = transactionService.transferFund(requestDTO.getFromAccountId(),
-                requestDTO.getToAccountId(), requestDTO.getAmount(), principal.getName());
+        IdempotencyService.Execution<TransactionResponseDTO> execution = idempotencyService.execute(idempotencyKey, principal.getName(), "transfer",
+                IdempotencyService.fingerprint("transfer", requestDTO.getFromAccountId(), requestDTO.getToAccountId(), requestDTO.getAmount()),
+                () -> transactionService.transferFund(requestDTO.getFromAccountId(),
+                        requestDTO.getToAccountId(), requestDTO.getAmount(), principal.getName()));
+        TransactionResponseDTO responseDTO = execution.response();
         URI location = URI.create("/api/transactions/" + responseDTO.getTransactionId());
-        return ResponseEntity.created(location).body(responseDTO);
+        return ResponseEntity.created(location).headers(execution.headers()).body(responseDTO);
     }
 
     @GetMapping(Endpoints.TRANSACTION_CUSTOMER)
@@ -51,14 +69,53 @@ public class TransactionController {
         return ResponseEntity.ok(responseDTOS);
     }
 
+    @GetMapping(Endpoints.CUSTOMER_TRANSACTION_CURSOR)
+    public ResponseEntity<CursorSliceDTO<TransactionSummaryDTO>> getTransactionSliceByCustomer(@RequestParam(required = false) String cursor,
+                                                                                               @RequestParam(required = false, defaultValue = "10") int size,
+                                                                                               @RequestParam(required = false) TransactionStatus status,
+                                                                                               @RequestParam(required = false) TransactionType type,
+                                                                                               @RequestParam(required = false) LocalDate fromDate,
+                                                                                               @RequestParam(required = false) LocalDate toDate,
+                                                                                               Principal principal) {
+        CursorSliceDTO<TransactionSummaryDTO> responseDTOS = transactionService.getTransactionSliceByCustomer(cursor, size, status, type, fromDate, toDate, principal.getName());
+        return ResponseEntity.ok(responseDTOS);
+    }
+
     @PreAuthorize("hasRole('EMPLOYEE')")
     @PostMapping(Endpoints.TRANSACTIONS_EMPLOYEE_TRANSFER)
     public ResponseEntity<TransactionResponseDTO> transferFundByEmployee(@RequestBody TransactionRequestDTO requestDTO,
+                                                               @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                                                Principal principal){
-        TransactionResponseDTO responseDTO = transactionService.transferFundByEmployee(requestDTO.getFromAccountId(),
-                requestDTO.getToAccountId(), requestDTO.getAmount(), principal.getName());
+        IdempotencyService.Execution<TransactionResponseDTO> execution = idempotencyService.execute(idempotencyKey, principal.getName(), "transfer",
+                IdempotencyService.fingerprint("transfer", requestDTO.getFromAccountId(), requestDTO.getToAccountId(), requestDTO.getAmount()),
+                () -> transactionService.transferFundByEmployee(requestDTO.getFromAccountId(),
+                        requestDTO.getToAccountId(), requestDTO.getAmount(), principal.getName()));
+        TransactionResponseDTO responseDTO = execution.response();
         URI location = URI.create("/api/transactions/" + responseDTO.getTransactionId());
-        return ResponseEntity.created(location).body(responseDTO);
+        return ResponseEntity.created(location).headers(execution.headers()).body(responseDTO);
+    }
+
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @PostMapping(Endpoints.TRANSACTIONS_EMPLOYEE_BULK_TRANSFER)
+    public ResponseEntity<List<BulkTransferResultDTO>> bulkTransferByEmployee(@RequestBody List<TransactionRequestDTO> requestDTOS,
+                                                                              @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                                                              Principal principal){
+        IdempotencyService.Execution<List<BulkTransferResultDTO>> execution = idempotencyService.executeChunked(idempotencyKey,
+                principal.getName(), "bulk-transfer", bulkFingerprint(requestDTOS), BULK_TRANSFER_RESULTS,
+                bulkTransferService.transferFundsByEmployee(requestDTOS, principal.getName()));
+        return ResponseEntity.ok().headers(execution.headers()).body(execution.response());
+    }
+
+    private static String bulkFingerprint(List<TransactionRequestDTO> requestDTOS){
+        List<Object> fields = new ArrayList<>();
+        if(requestDTOS != null){
+            for(TransactionRequestDTO requestDTO : requestDTOS){
+                fields.add(requestDTO.getFromAccountId());
+                fields.add(requestDTO.getToAccountId());
+                fields.add(requestDTO.getAmount());
+            }
+        }
+        return IdempotencyService.fingerprint("bulk-transfer", fields.toArray());
     }
 
     @PreAuthorize("hasRole('EMPLOYEE')")
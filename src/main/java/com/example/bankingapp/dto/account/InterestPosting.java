@@ -0,0 +1,11 @@
+package com.example.bankingapp.dto.account;
+
+import java.math.BigDecimal;
+
+public interface InterestPosting {
+    Long getAccountId();
+
+    BigDecimal getAmount();
+
+    BigDecimal getBalanceAfter();
+}
@@ -0,0 +1,56 @@
+package com.example.bankingapp.dto.cursor;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public class CursorSliceDTO<T> {
+    private List<T> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+
+    public CursorSliceDTO(){}
+
+    public CursorSliceDTO(Slice<T> slice, String nextCursor){
+        setContent(slice.getContent());
+        setSize(slice.getSize());
+        setHasNext(slice.hasNext());
+        setNextCursor(slice.hasNext() ? nextCursor : null);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
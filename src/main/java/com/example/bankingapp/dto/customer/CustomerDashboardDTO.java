@@ -0,0 +1,65 @@
+package com.example.bankingapp.dto.customer;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+public class CustomerDashboardDTO {
+    private Long customerId;
+    private String name;
+    private List<DashboardAccountRow> accounts;
+    private List<DashboardLoanRow> loans;
+    private BigDecimal totalBalance;
+    private BigDecimal totalOutstanding;
+    private BigDecimal totalEmi;
+    private int unreadNotifications;
+
+    public CustomerDashboardDTO(){}
+
+    public CustomerDashboardDTO(Long customerId, String name, List<DashboardAccountRow> accounts,
+                                List<DashboardLoanRow> loans, int unreadNotifications) {
+        this.customerId = customerId;
+        this.name = name;
+        this.accounts = accounts;
+        this.loans = loans;
+        this.unreadNotifications = unreadNotifications;
+        this.totalBalance = accounts.stream().map(DashboardAccountRow::balance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        this.totalOutstanding = loans.stream().map(DashboardLoanRow::outstandingAmount).filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        this.totalEmi = loans.stream().map(DashboardLoanRow::emi).filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<DashboardAccountRow> getAccounts() {
+        return accounts;
+    }
+
+    public List<DashboardLoanRow> getLoans() {
+        return loans;
+    }
+
+    public BigDecimal getTotalBalance() {
+        return totalBalance;
+    }
+
+    public BigDecimal getTotalOutstanding() {
+        return totalOutstanding;
+    }
+
+    public BigDecimal getTotalEmi() {
+        return totalEmi;
+    }
+
+    public int getUnreadNotifications() {
+        return unreadNotifications;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.bankingapp.dto.customer;
+
+import com.example.bankingapp.entities.account.AccountStatus;
+import com.example.bankingapp.entities.account.AccountType;
+
+import java.math.BigDecimal;
+
+public record DashboardAccountRow(Long accountId,
+                                  AccountType accountType,
+                                  AccountStatus accountStatus,
+                                  BigDecimal balance) {
+}
@@ -0,0 +1,14 @@
+package com.example.bankingapp.dto.customer;
+
+import com.example.bankingapp.entities.loan.LoanStatus;
+import com.example.bankingapp.entities.loan.LoanType;
+
+import java.math.BigDecimal;
+
+public record DashboardLoanRow(Long loanId,
+                               Long accountId,
+                               LoanType loanType,
+                               LoanStatus loanStatus,
+                               BigDecimal outstandingAmount,
+                               BigDecimal emi) {
+}
@@ -0,0 +1,7 @@
+package com.example.bankingapp.dto.loan;
+
+public interface LoanDefaultRun {
+    long getScanned();
+
+    long getUpdated();
+}
@@ -0,0 +1,6 @@
+package com.example.bankingapp.dto.notification;
+
+public enum ReadAllMode {
+    ROWS,
+    WATERMARK
+}
@@ -0,0 +1,11 @@
+package com.example.bankingapp.dto.notification;
+
+import com.example.bankingapp.utils.Constants;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public record UnreadCountDTO(int unreadNotifications,
+                             @JsonFormat(pattern = Constants.LocalDateTimePattern)
+                             LocalDateTime lastReadAt) {
+}
@@ -0,0 +1,6 @@
+package com.example.bankingapp.dto.principal;
+
+public record CustomerPrincipal(Long id,
+                                String username,
+                                String name) {
+}
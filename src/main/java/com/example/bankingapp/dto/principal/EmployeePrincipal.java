@@ -0,0 +1,9 @@
+package com.example.bankingapp.dto.principal;
+
+import com.example.bankingapp.entities.employee.EmployeeStatus;
+
+public record EmployeePrincipal(Long id,
+                                String username,
+                                String name,
+                                EmployeeStatus employeeStatus) {
+}
@@ -0,0 +1,15 @@
+package com.example.bankingapp.dto.principal;
+
+import com.example.bankingapp.Role;
+
+public interface UserCredential {
+    Long getId();
+
+    String getUsername();
+
+    String getPassword();
+
+    Role getRole();
+
+    String getStatus();
+}
@@ -0,0 +1,86 @@
+package com.example.bankingapp.dto.transaction;
+
+import com.example.bankingapp.entities.transaction.TransactionStatus;
+
+import java.math.BigDecimal;
+
+public class BulkTransferResultDTO {
+    private int index;
+
+    private Long fromAccountId;
+
+    private Long toAccountId;
+
+    private BigDecimal amount;
+
+    private Long transactionId;
+
+    private TransactionStatus transactionStatus;
+
+    private String failureReason;
+
+    public BulkTransferResultDTO(){}
+
+    public BulkTransferResultDTO(int index, TransactionRequestDTO requestDTO){
+        setIndex(index);
+        setFromAccountId(requestDTO.getFromAccountId());
+        setToAccountId(requestDTO.getToAccountId());
+        setAmount(requestDTO.getAmount());
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(Long fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public Long getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(Long toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public TransactionStatus getTransactionStatus() {
+        return transactionStatus;
+    }
+
+    public void setTransactionStatus(TransactionStatus transactionStatus) {
+        this.transactionStatus = transactionStatus;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+}
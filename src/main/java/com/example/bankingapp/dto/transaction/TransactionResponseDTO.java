@@ -1,6 +1,6 @@
 package com.example.bankingapp.dto.transaction;
 
-import com.example.bankingapp.entities.customer.Customer;
+import com.example.bankingapp.dto.principal.CustomerPrincipal;
 import com.example.bankingapp.entities.transaction.Transaction;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
 import com.example.bankingapp.entities.transaction.TransactionType;
@@ -40,9 +40,11 @@ public class TransactionResponseDTO {
 
     private boolean isCredit;
 
+    private BigDecimal balanceAfter;
+
     public TransactionResponseDTO(){}
 
-    public TransactionResponseDTO(Transaction transaction, Customer customer){
+    public TransactionResponseDTO(Transaction transaction, CustomerPrincipal customer){
         if(transaction.getFromAccount() != null) setFromAccountId(transaction.getFromAccount().getId());
         if (transaction.getToAccount() != null) setToAccountId(transaction.getToAccount().getId());
         setTransactionId(transaction.getId());
@@ -54,17 +56,19 @@ public class TransactionResponseDTO {
         if(transaction.getFailureReason() != null) setFailureReason(transaction.getFailureReason());
         if(transaction.getHandledBy() != null) setHandledBy(transaction.getHandledBy().getName());
         if(customer != null){
-            setSelf(customer.getName());
+            setSelf(customer.name());
             if(transaction.getFromAccount() != null){
-                if(transaction.getFromAccount().getCustomer().getId().equals(customer.getId())) setAccountId(getFromAccountId());
+                if(transaction.getFromAccount().getCustomer().getId().equals(customer.id())) setAccountId(getFromAccountId());
                 else setOtherCustomer(transaction.getFromAccount().getCustomer().getName());
             }
             if(transaction.getToAccount() != null){
-                if(transaction.getToAccount().getCustomer().getId().equals(customer.getId())) setAccountId(getToAccountId());
+                if(transaction.getToAccount().getCustomer().getId().equals(customer.id())) setAccountId(getToAccountId());
                 else setOtherCustomer(transaction.getToAccount().getCustomer().getName());
             }
-            setCredit((transaction.getToAccount() != null) && (transaction.getToAccount().getCustomer().getId().equals(customer.getId())));
+            setCredit((transaction.getToAccount() != null) && (transaction.getToAccount().getCustomer().getId().equals(customer.id())));
         }
+        if(isCredit() || transaction.getFromAccount() == null) setBalanceAfter(transaction.getToBalanceAfter());
+        else setBalanceAfter(transaction.getFromBalanceAfter());
     }
 
     public String getHandledBy() {
@@ -163,6 +167,14 @@ public class TransactionResponseDTO {
         isCredit = credit;
     }
 
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+
     public Long getAccountId() {
         return accountId;
     }
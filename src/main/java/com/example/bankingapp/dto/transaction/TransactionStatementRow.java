@@ -0,0 +1,21 @@
+package com.example.bankingapp.dto.transaction;
+
+import com.example.bankingapp.entities.transaction.TransactionStatus;
+import com.example.bankingapp.entities.transaction.TransactionType;
+import com.example.bankingapp.utils.Constants;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TransactionStatementRow(Long transactionId,
+                                      @JsonFormat(pattern = Constants.LocalDateTimePattern)
+                                      LocalDateTime dateOfTransaction,
+                                      TransactionType transactionType,
+                                      TransactionStatus transactionStatus,
+                                      BigDecimal amount,
+                                      Long fromAccountId,
+                                      Long toAccountId,
+                                      BigDecimal balanceAfter,
+                                      String failureReason) {
+}
@@ -1,7 +1,5 @@
 package com.example.bankingapp.dto.transaction;
 
-import com.example.bankingapp.entities.customer.Customer;
-import com.example.bankingapp.entities.transaction.Transaction;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
 
 import java.math.BigDecimal;
@@ -18,18 +16,22 @@ public class TransactionSummaryDTO {
 
     private boolean isCredit;
 
+    private BigDecimal balanceAfter;
+
     private boolean success;
 
-    public TransactionSummaryDTO(Transaction transaction, Customer customer){
-        setTransactionId(transaction.getId());
-        if(customer != null){
-            setCredit((transaction.getToAccount() != null) && transaction.getToAccount().getCustomer().getId().equals(customer.getId()));
+    public TransactionSummaryDTO(TransactionSummaryView view, Long customerId){
+        setTransactionId(view.transactionId());
+        if(customerId != null){
+            setCredit(view.toAccountId() != null && customerId.equals(view.toCustomerId()));
         }
-        if(isCredit() && transaction.getFromAccount() != null) setOtherCustomer(transaction.getFromAccount().getCustomer().getName());
-        else if(!isCredit() && transaction.getToAccount() != null) setOtherCustomer(transaction.getToAccount().getCustomer().getName());
-        setDateOfTransaction(transaction.getDateOfTransaction().toLocalDate());
-        setAmount(transaction.getAmount());
-        setSuccess(transaction.getTransactionStatus().equals(TransactionStatus.SUCCESS));
+        if(isCredit() && view.fromAccountId() != null) setOtherCustomer(view.fromCustomerName());
+        else if(!isCredit() && view.toAccountId() != null) setOtherCustomer(view.toCustomerName());
+        setDateOfTransaction(view.dateOfTransaction().toLocalDate());
+        setAmount(view.amount());
+        if(isCredit() || view.fromAccountId() == null) setBalanceAfter(view.toBalanceAfter());
+        else setBalanceAfter(view.fromBalanceAfter());
+        setSuccess(view.transactionStatus().equals(TransactionStatus.SUCCESS));
     }
 
     public Long getTransactionId() {
@@ -72,6 +74,14 @@ public class TransactionSummaryDTO {
         isCredit = credit;
     }
 
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+
     public boolean isSuccess() {
         return success;
     }
@@ -0,0 +1,20 @@
+package com.example.bankingapp.dto.transaction;
+
+import com.example.bankingapp.entities.transaction.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record TransactionSummaryView(Long transactionId,
+                                     LocalDateTime dateOfTransaction,
+                                     BigDecimal amount,
+                                     TransactionStatus transactionStatus,
+                                     Long fromAccountId,
+                                     Long fromCustomerId,
+                                     String fromCustomerName,
+                                     BigDecimal fromBalanceAfter,
+                                     Long toAccountId,
+                                     Long toCustomerId,
+                                     String toCustomerName,
+                                     BigDecimal toBalanceAfter) {
+}
@@ -27,7 +27,7 @@ public class Account extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private AccountStatus accountStatus;
 
-    @Column(name = "balance", nullable = false)
+    @Column(name = "balance", nullable = false, updatable = false)
     @NotNull(message = "Balance cannot be null")
     private BigDecimal balance = BigDecimal.ZERO;
 
@@ -64,7 +64,7 @@ public class Account extends BaseEntity {
         return balance;
     }
 
-    public synchronized void setBalance(BigDecimal balance) {
+    public void setBalance(BigDecimal balance) {
         this.balance = balance;
     }
 
@@ -93,17 +93,17 @@ public class Account extends BaseEntity {
         loan.setAccount(this);
     }
 
-    public synchronized BigDecimal deposit(BigDecimal depositFund) {
+    public BigDecimal deposit(BigDecimal depositFund) {
         balance = balance.add(depositFund);
         return balance;
     }
 
-    public synchronized BigDecimal withdrawal(BigDecimal withdrawalAmount) {
+    public BigDecimal withdrawal(BigDecimal withdrawalAmount) {
         balance = balance.subtract(withdrawalAmount);
         return balance;
     }
 
-    public synchronized BigDecimal transferTo(Account account, BigDecimal amount) {
+    public BigDecimal transferTo(Account account, BigDecimal amount) {
         if (account != null) {
             if (account.getAccountStatus() == AccountStatus.ACTIVE) {
                 this.withdrawal(amount);
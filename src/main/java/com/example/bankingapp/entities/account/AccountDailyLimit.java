@@ -0,0 +1,59 @@
+package com.example.bankingapp.entities.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.core.style.ToStringCreator;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "account_daily_limits")
+public class AccountDailyLimit {
+    @EmbeddedId
+    private AccountDailyLimitId id;
+
+    @Column(name = "debit_total", nullable = false)
+    @NotNull(message = "Debit total cannot be null")
+    private BigDecimal debitTotal = BigDecimal.ZERO;
+
+    @Column(name = "credit_total", nullable = false)
+    @NotNull(message = "Credit total cannot be null")
+    private BigDecimal creditTotal = BigDecimal.ZERO;
+
+    public AccountDailyLimitId getId() {
+        return id;
+    }
+
+    public void setId(AccountDailyLimitId id) {
+        this.id = id;
+    }
+
+    public BigDecimal getDebitTotal() {
+        return debitTotal;
+    }
+
+    public void setDebitTotal(BigDecimal debitTotal) {
+        this.debitTotal = debitTotal;
+    }
+
+    public BigDecimal getCreditTotal() {
+        return creditTotal;
+    }
+
+    public void setCreditTotal(BigDecimal creditTotal) {
+        this.creditTotal = creditTotal;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringCreator(this)
+                .append("account id : ", id.getAccountId())
+                .append("date : ", id.getUsageDate())
+                .append("debit total : ", getDebitTotal())
+                .append("credit total : ", getCreditTotal())
+                .toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.bankingapp.entities.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class AccountDailyLimitId implements Serializable {
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "usage_date", nullable = false)
+    private LocalDate usageDate;
+
+    public AccountDailyLimitId(){}
+
+    public AccountDailyLimitId(Long accountId, LocalDate usageDate) {
+        this.accountId = accountId;
+        this.usageDate = usageDate;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getUsageDate() {
+        return usageDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AccountDailyLimitId that)) return false;
+        return Objects.equals(accountId, that.accountId) && Objects.equals(usageDate, that.usageDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountId, usageDate);
+    }
+}
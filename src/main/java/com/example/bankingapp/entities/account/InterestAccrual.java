@@ -0,0 +1,72 @@
+package com.example.bankingapp.entities.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.core.style.ToStringCreator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "interest_accruals")
+public class InterestAccrual {
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "accrued", nullable = false, precision = 38, scale = 6)
+    @NotNull(message = "Accrued interest cannot be null")
+    private BigDecimal accrued = BigDecimal.ZERO;
+
+    @Column(name = "accrued_through", nullable = false)
+    @NotNull(message = "Accrual date cannot be null")
+    private LocalDate accruedThrough;
+
+    @Column(name = "posted_through")
+    private LocalDate postedThrough;
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public BigDecimal getAccrued() {
+        return accrued;
+    }
+
+    public void setAccrued(BigDecimal accrued) {
+        this.accrued = accrued;
+    }
+
+    public LocalDate getAccruedThrough() {
+        return accruedThrough;
+    }
+
+    public void setAccruedThrough(LocalDate accruedThrough) {
+        this.accruedThrough = accruedThrough;
+    }
+
+    public LocalDate getPostedThrough() {
+        return postedThrough;
+    }
+
+    public void setPostedThrough(LocalDate postedThrough) {
+        this.postedThrough = postedThrough;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringCreator(this)
+                .append("account id : ", getAccountId())
+                .append("accrued : ", getAccrued())
+                .append("accrued through : ", getAccruedThrough())
+                .append("posted through : ", getPostedThrough())
+                .toString();
+    }
+}
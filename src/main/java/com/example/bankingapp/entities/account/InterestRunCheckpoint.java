@@ -0,0 +1,83 @@
+package com.example.bankingapp.entities.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.core.style.ToStringCreator;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "interest_run_checkpoints")
+public class InterestRunCheckpoint {
+    @EmbeddedId
+    private InterestRunCheckpointId id;
+
+    @Column(name = "partition_end", nullable = false)
+    @NotNull(message = "Partition end cannot be null")
+    private Long partitionEnd;
+
+    @Column(name = "last_account_id", nullable = false)
+    @NotNull(message = "Last account id cannot be null")
+    private Long lastAccountId;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    @NotNull(message = "Update date cannot be null")
+    private LocalDateTime updatedAt;
+
+    public InterestRunCheckpointId getId() {
+        return id;
+    }
+
+    public void setId(InterestRunCheckpointId id) {
+        this.id = id;
+    }
+
+    public Long getPartitionEnd() {
+        return partitionEnd;
+    }
+
+    public void setPartitionEnd(Long partitionEnd) {
+        this.partitionEnd = partitionEnd;
+    }
+
+    public Long getLastAccountId() {
+        return lastAccountId;
+    }
+
+    public void setLastAccountId(Long lastAccountId) {
+        this.lastAccountId = lastAccountId;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringCreator(this)
+                .append("run type : ", id.getRunType())
+                .append("run date : ", id.getRunDate())
+                .append("partition start : ", id.getPartitionStart())
+                .append("last account id : ", getLastAccountId())
+                .append("completed : ", isCompleted())
+                .toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.bankingapp.entities.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Embeddable
+public class InterestRunCheckpointId implements Serializable {
+    @Column(name = "run_type", nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private InterestRunType runType;
+
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "partition_start", nullable = false)
+    private Long partitionStart;
+
+    public InterestRunCheckpointId(){}
+
+    public InterestRunCheckpointId(InterestRunType runType, LocalDate runDate, Long partitionStart) {
+        this.runType = runType;
+        this.runDate = runDate;
+        this.partitionStart = partitionStart;
+    }
+
+    public InterestRunType getRunType() {
+        return runType;
+    }
+
+    public LocalDate getRunDate() {
+        return runDate;
+    }
+
+    public Long getPartitionStart() {
+        return partitionStart;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InterestRunCheckpointId that)) return false;
+        return runType == that.runType && Objects.equals(runDate, that.runDate)
+                && Objects.equals(partitionStart, that.partitionStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(runType, runDate, partitionStart);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.bankingapp.entities.account;
+
+public enum InterestRunType {
+    ACCRUAL,
+    POSTING
+}
@@ -9,6 +9,7 @@ import com.example.bankingapp.entities.loan.LoanStatus;
 import com.example.bankingapp.entities.notification.Notification;
 import com.example.bankingapp.exception.AccountBalanceNotZeroException;
 import com.example.bankingapp.exception.NonClosedLoanException;
+import com.example.bankingapp.service.PrincipalChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -23,6 +24,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "customers")
+@EntityListeners(PrincipalChangeListener.class)
 public class Customer extends Person {
     @Column(name = "aadhar_no")
     @NotBlank(message = "Aadhar no cannot be blank")
@@ -82,7 +84,7 @@ public class Customer extends Person {
         return null;
     }
 
-    public synchronized boolean removeAccount(Account account) {
+    public boolean removeAccount(Account account) {
         for(Loan loan : account.getLoans()){
             if(!loan.getLoanStatus().equals(LoanStatus.CLOSED)){
                 throw new NonClosedLoanException();
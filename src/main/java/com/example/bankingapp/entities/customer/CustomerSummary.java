@@ -0,0 +1,70 @@
+package com.example.bankingapp.entities.customer;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.core.style.ToStringCreator;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "customer_summaries")
+public class CustomerSummary {
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "unread_notifications", nullable = false)
+    private int unreadNotifications;
+
+    @Column(name = "last_read_at")
+    private LocalDateTime lastReadAt;
+
+    @Column(name = "updated_at", nullable = false)
+    @NotNull(message = "Update date cannot be null")
+    private LocalDateTime updatedAt;
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public int getUnreadNotifications() {
+        return unreadNotifications;
+    }
+
+    public void setUnreadNotifications(int unreadNotifications) {
+        this.unreadNotifications = unreadNotifications;
+    }
+
+    public LocalDateTime getLastReadAt() {
+        return lastReadAt;
+    }
+
+    public void setLastReadAt(LocalDateTime lastReadAt) {
+        this.lastReadAt = lastReadAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringCreator(this)
+                .append("customer id : ", getCustomerId())
+                .append("unread notifications : ", getUnreadNotifications())
+                .append("last read at : ", getLastReadAt())
+                .append("updated at : ", getUpdatedAt())
+                .toString();
+    }
+}
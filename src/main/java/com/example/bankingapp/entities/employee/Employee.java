@@ -4,6 +4,7 @@ import com.example.bankingapp.Role;
 import com.example.bankingapp.entities.baseentities.Person;
 import com.example.bankingapp.entities.loan.Loan;
 import com.example.bankingapp.entities.transaction.Transaction;
+import com.example.bankingapp.service.PrincipalChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.core.style.ToStringCreator;
@@ -13,6 +14,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "employees")
+@EntityListeners(PrincipalChangeListener.class)
 public class Employee extends Person {
     @Column(name = "employee_role", nullable = false)
     @NotNull(message = "Employee role cannot be null")
@@ -0,0 +1,98 @@
+package com.example.bankingapp.entities.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.core.style.ToStringCreator;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+    @EmbeddedId
+    private IdempotencyRecordId id;
+
+    @Column(name = "operation", nullable = false, length = 64)
+    @NotNull(message = "Operation cannot be null")
+    private String operation;
+
+    @Column(name = "request_fingerprint", nullable = false, length = 64)
+    @NotNull(message = "Request fingerprint cannot be null")
+    private String requestFingerprint;
+
+    @Column(name = "response", columnDefinition = "text")
+    private String response;
+
+    @Column(name = "status", nullable = false, length = 16)
+    @NotNull(message = "Status cannot be null")
+    @Enumerated(EnumType.STRING)
+    private IdempotencyStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    @NotNull(message = "Creation date cannot be null")
+    private LocalDateTime createdAt;
+
+    public IdempotencyRecordId getId() {
+        return id;
+    }
+
+    public void setId(IdempotencyRecordId id) {
+        this.id = id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getRequestFingerprint() {
+        return requestFingerprint;
+    }
+
+    public void setRequestFingerprint(String requestFingerprint) {
+        this.requestFingerprint = requestFingerprint;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+
+    public void setResponse(String response) {
+        this.response = response;
+    }
+
+    public IdempotencyStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IdempotencyStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringCreator(this)
+                .append("principal : ", id.getPrincipal())
+                .append("key : ", id.getIdempotencyKey())
+                .append("operation : ", getOperation())
+                .append("status : ", getStatus())
+                .append("created at : ", getCreatedAt())
+                .toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bankingapp.entities.idempotency;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class IdempotencyRecordId implements Serializable {
+    @Column(name = "principal", nullable = false)
+    private String principal;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    public IdempotencyRecordId(){}
+
+    public IdempotencyRecordId(String principal, String idempotencyKey) {
+        this.principal = principal;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getPrincipal() {
+        return principal;
+    }
+
+    public void setPrincipal(String principal) {
+        this.principal = principal;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IdempotencyRecordId that)) return false;
+        return Objects.equals(principal, that.principal) && Objects.equals(idempotencyKey, that.idempotencyKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(principal, idempotencyKey);
+    }
+}
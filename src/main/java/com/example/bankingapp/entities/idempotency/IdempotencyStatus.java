@@ -0,0 +1,6 @@
+package com.example.bankingapp.entities.idempotency;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
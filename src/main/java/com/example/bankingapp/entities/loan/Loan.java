@@ -62,6 +62,24 @@ public class Loan extends BaseEntity {
     @JoinColumn(name = "employee_id")
     private Employee handledBy;
 
+    @Column(name = "amortized_balance", precision = 38, scale = 16)
+    private BigDecimal amortizedBalance;
+
+    @Column(name = "amortized_months")
+    private Integer amortizedMonths;
+
+    @Column(name = "last_payment_month")
+    private Integer lastPaymentMonth;
+
+    @Column(name = "last_payment_month_total")
+    private BigDecimal lastPaymentMonthTotal;
+
+    @Column(name = "outstanding_snapshot")
+    private BigDecimal outstandingSnapshot;
+
+    @Column(name = "emi")
+    private BigDecimal emi;
+
     public Account getAccount() {
         return account;
     }
@@ -76,6 +94,7 @@ public class Loan extends BaseEntity {
 
     public void setDateOfIssuance(LocalDate dateOfIssuance) {
         this.dateOfIssuance = dateOfIssuance;
+        this.amortizedBalance = null;
     }
 
     public Integer getTenureInMonths() {
@@ -133,9 +152,10 @@ public class Loan extends BaseEntity {
         return transactions;
     }
 
-    public synchronized void addTransaction(Transaction transaction){
+    public void addTransaction(Transaction transaction){
         transactions.add(transaction);
         transaction.setLoan(this);
+        if(transaction.isDebit()) applyPayment(transaction);
     }
 
     public Employee getApprovedBy() {
@@ -160,33 +180,158 @@ public class Loan extends BaseEntity {
                 (loanStatus == LoanStatus.DISBURSED && LocalDate.now().isAfter(repaymentDate));
     }
 
+    private record Amortization(BigDecimal balance, int months, Integer lastPaymentMonth,
+                                BigDecimal lastPaymentMonthTotal) {
+        BigDecimal paymentFor(int month){
+            if(lastPaymentMonth != null && lastPaymentMonth == month) return lastPaymentMonthTotal;
+            return BigDecimal.ZERO;
+        }
+    }
+
     public BigDecimal getOutstandingAmount(){
-        BigDecimal monthlyRate = rateOfInterest.divide(BigDecimal.valueOf(1200), MathContext.DECIMAL128);
+        Amortization amortization = amortizedBalance != null
+                ? new Amortization(amortizedBalance, amortizedMonths, lastPaymentMonth, lastPaymentMonthTotal)
+                : computeAmortization();
+        BigDecimal monthlyRate = getMonthlyRate();
         BigDecimal emi = calculateEMI();
-        BigDecimal balance = principalAmount;
+        BigDecimal balance = amortization.balance();
 
-        Map<Integer, BigDecimal> paymentsByMonth = getPaymentsByMonth();
+        long monthsToProcess = getMonthsToProcess(LocalDate.now(), amortization.lastPaymentMonth());
+        for (int month = amortization.months() + 1; month <= monthsToProcess; month++) {
+            balance = advanceMonth(balance, month, amortization.paymentFor(month), monthlyRate, emi);
+        }
 
-        long monthsToProcess = Period.between(dateOfIssuance, LocalDate.now()).toTotalMonths();
-        if (monthsToProcess == 0 && !paymentsByMonth.isEmpty()) {
-            monthsToProcess = 1;
+        return balance.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal getOutstandingSnapshot() {
+        return outstandingSnapshot;
+    }
+
+    public BigDecimal getEmi() {
+        return emi;
+    }
+
+    public void refreshSnapshot(){
+        ensureAmortization();
+        if(loanStatus == LoanStatus.DISBURSED || loanStatus == LoanStatus.DEFAULTED){
+            outstandingSnapshot = getOutstandingAmount();
+            emi = calculateEMI();
+        }
+        else if(loanStatus == LoanStatus.CLOSED){
+            outstandingSnapshot = BigDecimal.ZERO.setScale(2);
         }
+    }
 
-        for (int month = 1; month <= monthsToProcess; month++) {
-            BigDecimal interest = balance.multiply(monthlyRate);
-            balance = balance.add(interest);
+    public void rollAmortizationForward(LocalDate date){
+        ensureAmortization();
+        long monthsToProcess = getMonthsToProcess(date, lastPaymentMonth);
+        if(amortizedMonths >= monthsToProcess) return;
+
+        BigDecimal monthlyRate = getMonthlyRate();
+        BigDecimal emi = calculateEMI();
+        while (amortizedMonths < monthsToProcess) {
+            amortizedMonths++;
+            amortizedBalance = advanceMonth(amortizedBalance, amortizedMonths, getPaymentForMonth(amortizedMonths),
+                    monthlyRate, emi);
+        }
+    }
+
+    @PrePersist
+    private void ensureAmortization(){
+        if(amortizedBalance != null || dateOfIssuance == null) return;
 
+        Amortization amortization = computeAmortization();
+        amortizedBalance = amortization.balance();
+        amortizedMonths = amortization.months();
+        lastPaymentMonth = amortization.lastPaymentMonth();
+        lastPaymentMonthTotal = amortization.lastPaymentMonthTotal();
+    }
+
+    private Amortization computeAmortization(){
+        BigDecimal monthlyRate = getMonthlyRate();
+        BigDecimal emi = calculateEMI();
+        Map<Integer, BigDecimal> paymentsByMonth = getPaymentsByMonth();
+
+        Integer lastMonth = paymentsByMonth.keySet().stream().max(Integer::compare).orElse(null);
+        BigDecimal lastMonthTotal = lastMonth == null ? null : paymentsByMonth.get(lastMonth);
+
+        BigDecimal balance = principalAmount;
+        long monthsToProcess = getMonthsToProcess(LocalDate.now(), lastMonth);
+        for (int month = 1; month <= monthsToProcess; month++) {
             BigDecimal payment = paymentsByMonth.getOrDefault(month, BigDecimal.ZERO);
-            balance = balance.subtract(payment);
+            balance = advanceMonth(balance, month, payment, monthlyRate, emi);
+        }
+        return new Amortization(balance, (int) Math.max(monthsToProcess, 0), lastMonth, lastMonthTotal);
+    }
+
+    private void applyPayment(Transaction transaction){
+        if(amortizedBalance == null || dateOfIssuance == null) return;
 
-            if (month <= tenureInMonths && payment.compareTo(emi) < 0) {
-                BigDecimal shortfall = emi.subtract(payment);
-                BigDecimal penalty = shortfall.multiply(BigDecimal.valueOf(0.02));
-                balance = balance.add(penalty);
+        LocalDate paymentDate = transaction.getDateOfTransaction().toLocalDate();
+        int month = (int) Period.between(dateOfIssuance, paymentDate).toTotalMonths() + 1;
+        if(month <= 0) return;
+
+        rollAmortizationForward(paymentDate);
+
+        BigDecimal previous = BigDecimal.ZERO;
+        if(lastPaymentMonth != null){
+            boolean outOfOrder = month < lastPaymentMonth ||
+                    (month > lastPaymentMonth && lastPaymentMonth > amortizedMonths);
+            if(outOfOrder){
+                amortizedBalance = null;
+                return;
             }
+            if(month == lastPaymentMonth) previous = lastPaymentMonthTotal;
+        }
+        BigDecimal total = previous.add(transaction.getAmount());
+
+        if(month <= amortizedMonths){
+            BigDecimal monthlyRate = getMonthlyRate();
+            BigDecimal emi = calculateEMI();
+            BigDecimal change = getPenalty(month, total, emi)
+                    .subtract(getPenalty(month, previous, emi))
+                    .subtract(transaction.getAmount());
+            BigDecimal growth = BigDecimal.ONE.add(monthlyRate).pow(amortizedMonths - month, MathContext.DECIMAL128);
+            amortizedBalance = amortizedBalance.add(change.multiply(growth, MathContext.DECIMAL128));
         }
 
-        return balance.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
+        lastPaymentMonth = month;
+        lastPaymentMonthTotal = total;
+        rollAmortizationForward(paymentDate);
+    }
+
+    private BigDecimal advanceMonth(BigDecimal balance, int month, BigDecimal payment,
+                                    BigDecimal monthlyRate, BigDecimal emi){
+        BigDecimal interest = balance.multiply(monthlyRate, MathContext.DECIMAL128);
+        return balance.add(interest)
+                .subtract(payment)
+                .add(getPenalty(month, payment, emi));
+    }
+
+    private BigDecimal getPenalty(int month, BigDecimal payment, BigDecimal emi){
+        if (month <= tenureInMonths && payment.compareTo(emi) < 0) {
+            BigDecimal shortfall = emi.subtract(payment);
+            return shortfall.multiply(BigDecimal.valueOf(0.02));
+        }
+        return BigDecimal.ZERO;
+    }
+
+    private BigDecimal getPaymentForMonth(int month){
+        if(lastPaymentMonth != null && lastPaymentMonth == month) return lastPaymentMonthTotal;
+        return BigDecimal.ZERO;
+    }
+
+    private long getMonthsToProcess(LocalDate date, Integer lastPaymentMonth){
+        long monthsToProcess = Period.between(dateOfIssuance, date).toTotalMonths();
+        if (monthsToProcess == 0 && lastPaymentMonth != null) {
+            monthsToProcess = 1;
+        }
+        return monthsToProcess;
+    }
+
+    private BigDecimal getMonthlyRate(){
+        return rateOfInterest.divide(BigDecimal.valueOf(1200), MathContext.DECIMAL128);
     }
 
     private Map<Integer, BigDecimal> getPaymentsByMonth() {
@@ -213,7 +358,7 @@ public class Loan extends BaseEntity {
     }
 
     public BigDecimal calculateEMI(){
-        BigDecimal monthlyInterestRate = rateOfInterest.divide(BigDecimal.valueOf(1200), MathContext.DECIMAL128);
+        BigDecimal monthlyInterestRate = getMonthlyRate();
         BigDecimal partOfFormula = (monthlyInterestRate.add(BigDecimal.ONE)).pow(tenureInMonths);
         BigDecimal numerator = principalAmount.multiply(monthlyInterestRate).multiply(partOfFormula);
         BigDecimal denominator = partOfFormula.subtract(BigDecimal.ONE);
@@ -23,6 +23,9 @@ public class Notification extends BaseEntity {
     @DateTimeFormat(pattern = Constants.LocalDateTimePattern)
     private LocalDateTime date;
 
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
     @Column(name = "status")
     @NotNull(message = "Status cannot be null")
     @Enumerated(EnumType.STRING)
@@ -61,6 +64,10 @@ public class Notification extends BaseEntity {
         this.date = date;
     }
 
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
     public NotificationStatus getNotificationStatus() {
         return notificationStatus;
     }
@@ -89,6 +96,11 @@ public class Notification extends BaseEntity {
         return notificationStatus == NotificationStatus.UNREAD;
     }
 
+    @PrePersist
+    private void stampCreatedAt(){
+        createdAt = LocalDateTime.now();
+    }
+
     @Override
     public String toString(){
         return new ToStringCreator(this)
@@ -0,0 +1,125 @@
+package com.example.bankingapp.entities.notification;
+
+import com.example.bankingapp.entities.baseentities.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.core.style.ToStringCreator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_outbox")
+public class NotificationEvent extends BaseEntity {
+    @Column(name = "type", nullable = false)
+    @NotNull(message = "Event type cannot be null")
+    @Enumerated(EnumType.STRING)
+    private NotificationEventType eventType;
+
+    @Column(name = "customer_id", nullable = false)
+    @NotNull(message = "Customer cannot be null")
+    private Long customerId;
+
+    @Column(name = "counterparty_customer_id")
+    private Long counterpartyCustomerId;
+
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "loan_id")
+    private Long loanId;
+
+    @Column(name = "amount")
+    private BigDecimal amount;
+
+    @Column(name = "outstanding_amount")
+    private BigDecimal outstandingAmount;
+
+    @Column(name = "occurred_at", nullable = false)
+    @NotNull(message = "Event date cannot be null")
+    private LocalDateTime occurredAt;
+
+    public NotificationEvent(){}
+
+    public NotificationEvent(NotificationEventType eventType, Long customerId, BigDecimal amount, LocalDateTime occurredAt) {
+        this.eventType = eventType;
+        this.customerId = customerId;
+        this.amount = amount;
+        this.occurredAt = occurredAt;
+    }
+
+    public NotificationEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(NotificationEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Long getCounterpartyCustomerId() {
+        return counterpartyCustomerId;
+    }
+
+    public void setCounterpartyCustomerId(Long counterpartyCustomerId) {
+        this.counterpartyCustomerId = counterpartyCustomerId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Long getLoanId() {
+        return loanId;
+    }
+
+    public void setLoanId(Long loanId) {
+        this.loanId = loanId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public BigDecimal getOutstandingAmount() {
+        return outstandingAmount;
+    }
+
+    public void setOutstandingAmount(BigDecimal outstandingAmount) {
+        this.outstandingAmount = outstandingAmount;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    @Override
+    public String toString(){
+        return new ToStringCreator(this)
+                .append("id : ", getId())
+                .append("type : ", getEventType())
+                .append("customer id : ", getCustomerId())
+                .append("amount : ", getAmount())
+                .append("occurred at : ", getOccurredAt())
+                .toString();
+    }
+}
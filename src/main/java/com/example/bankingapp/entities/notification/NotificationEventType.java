@@ -0,0 +1,11 @@
+package com.example.bankingapp.entities.notification;
+
+public enum NotificationEventType {
+    TRANSFER_DEBIT,
+    TRANSFER_CREDIT,
+    DEPOSIT,
+    WITHDRAWAL,
+    LOAN_DISBURSED,
+    LOAN_REPAID,
+    LOAN_CLOSED
+}
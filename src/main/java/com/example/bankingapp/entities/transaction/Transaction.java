@@ -54,6 +54,12 @@ public class Transaction extends BaseEntity {
     @Column(name = "failure_reasons")
     private String failureReason;
 
+    @Column(name = "from_balance_after")
+    private BigDecimal fromBalanceAfter;
+
+    @Column(name = "to_balance_after")
+    private BigDecimal toBalanceAfter;
+
     public LocalDateTime getDateOfTransaction() {
         return dateOfTransaction;
     }
@@ -144,6 +150,22 @@ public class Transaction extends BaseEntity {
         this.failureReason = failureReason;
     }
 
+    public BigDecimal getFromBalanceAfter() {
+        return fromBalanceAfter;
+    }
+
+    public void setFromBalanceAfter(BigDecimal fromBalanceAfter) {
+        this.fromBalanceAfter = fromBalanceAfter;
+    }
+
+    public BigDecimal getToBalanceAfter() {
+        return toBalanceAfter;
+    }
+
+    public void setToBalanceAfter(BigDecimal toBalanceAfter) {
+        this.toBalanceAfter = toBalanceAfter;
+    }
+
     @Override
     public String toString(){
         ToStringCreator string =  new ToStringCreator(this)
@@ -0,0 +1,15 @@
+package com.example.bankingapp.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException{
+    public IdempotencyKeyReusedException() {
+        super("The Idempotency-Key was already used for a different request.");
+    }
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+
+    public IdempotencyKeyReusedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
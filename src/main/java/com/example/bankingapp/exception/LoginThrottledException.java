@@ -0,0 +1,11 @@
+package com.example.bankingapp.exception;
+
+public class LoginThrottledException extends RuntimeException {
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+
+    public LoginThrottledException(){
+        super("Too many login attempts are being processed. Please try again shortly.");
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bankingapp.repository;
+
+import com.example.bankingapp.entities.account.AccountDailyLimit;
+import com.example.bankingapp.entities.account.AccountDailyLimitId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface AccountDailyLimitRepository extends JpaRepository<AccountDailyLimit, AccountDailyLimitId> {
+    interface Totals {
+        BigDecimal getDebitTotal();
+        BigDecimal getCreditTotal();
+    }
+
+    @Modifying
+    @Query(value = """
+       INSERT INTO account_daily_limits (account_id, usage_date, debit_total, credit_total)
+       VALUES (:accountId, :usageDate, :debitTotal, :creditTotal)
+       ON CONFLICT (account_id, usage_date) DO NOTHING
+       """, nativeQuery = true)
+    int insertIfAbsent(@Param("accountId") Long accountId, @Param("usageDate") LocalDate usageDate,
+                       @Param("debitTotal") BigDecimal debitTotal, @Param("creditTotal") BigDecimal creditTotal);
+
+    @Query(value = """
+       UPDATE account_daily_limits
+       SET debit_total = debit_total + :amount
+       WHERE account_id = :accountId AND usage_date = :usageDate
+       AND debit_total + :amount <= :limit
+       RETURNING debit_total AS "debitTotal", credit_total AS "creditTotal"
+       """, nativeQuery = true)
+    Optional<Totals> reserveDebit(@Param("accountId") Long accountId, @Param("usageDate") LocalDate usageDate,
+                                  @Param("amount") BigDecimal amount, @Param("limit") BigDecimal limit);
+
+    @Query(value = """
+       UPDATE account_daily_limits
+       SET credit_total = credit_total + :amount
+       WHERE account_id = :accountId AND usage_date = :usageDate
+       AND credit_total + :amount <= :limit
+       RETURNING debit_total AS "debitTotal", credit_total AS "creditTotal"
+       """, nativeQuery = true)
+    Optional<Totals> reserveCredit(@Param("accountId") Long accountId, @Param("usageDate") LocalDate usageDate,
+                                   @Param("amount") BigDecimal amount, @Param("limit") BigDecimal limit);
+
+    @Query(value = """
+       UPDATE account_daily_limits
+       SET debit_total = debit_total + :amount
+       WHERE account_id = :accountId AND usage_date = :usageDate
+       RETURNING debit_total AS "debitTotal", credit_total AS "creditTotal"
+       """, nativeQuery = true)
+    Optional<Totals> addDebit(@Param("accountId") Long accountId, @Param("usageDate") LocalDate usageDate,
+                              @Param("amount") BigDecimal amount);
+
+    @Query(value = """
+       UPDATE account_daily_limits
+       SET credit_total = credit_total + :amount
+       WHERE account_id = :accountId AND usage_date = :usageDate
+       RETURNING debit_total AS "debitTotal", credit_total AS "creditTotal"
+       """, nativeQuery = true)
+    Optional<Totals> addCredit(@Param("accountId") Long accountId, @Param("usageDate") LocalDate usageDate,
+                               @Param("amount") BigDecimal amount);
+}
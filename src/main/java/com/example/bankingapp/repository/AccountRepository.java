@@ -1,10 +1,65 @@
 package com.example.bankingapp.repository;
 
+import com.example.bankingapp.dto.account.AccountSummaryDTO;
+import com.example.bankingapp.dto.customer.DashboardAccountRow;
 import com.example.bankingapp.entities.account.Account;
 import com.example.bankingapp.entities.account.AccountType;
 import com.example.bankingapp.entities.customer.Customer;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     boolean existsByCustomerAndAccountType(Customer customer, AccountType type);
+
+    @Query("SELECT new com.example.bankingapp.dto.account.AccountSummaryDTO(a.id, a.accountType) FROM Account a WHERE a.customer.id = :customerId ORDER BY a.id")
+    List<AccountSummaryDTO> findSummariesByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT new com.example.bankingapp.dto.customer.DashboardAccountRow(a.id, a.accountType, a.accountStatus, a.balance) FROM Account a WHERE a.customer.id = :customerId ORDER BY a.id")
+    List<DashboardAccountRow> findDashboardRowsByCustomerId(@Param("customerId") Long customerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query(value = """
+       UPDATE accounts
+       SET balance = balance - :amount
+       WHERE id = :id
+       AND balance >= :amount
+       AND status = 'ACTIVE'
+       RETURNING balance
+       """, nativeQuery = true)
+    Optional<BigDecimal> debitBalance(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Query(value = """
+       UPDATE accounts
+       SET balance = balance + :amount
+       WHERE id = :id
+       AND status = 'ACTIVE'
+       RETURNING balance
+       """, nativeQuery = true)
+    Optional<BigDecimal> creditBalance(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Query("SELECT MIN(a.id) FROM Account a")
+    Optional<Long> findMinId();
+
+    @Query("SELECT MAX(a.id) FROM Account a")
+    Optional<Long> findMaxId();
+
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta WHERE a.id = :id")
+    int adjustBalance(@Param("id") Long id, @Param("delta") BigDecimal delta);
 }
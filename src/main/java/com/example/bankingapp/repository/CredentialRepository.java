@@ -0,0 +1,25 @@
+package com.example.bankingapp.repository;
+
+import com.example.bankingapp.dto.principal.UserCredential;
+import com.example.bankingapp.entities.customer.Customer;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface CredentialRepository extends Repository<Customer, Long> {
+    @Query(value = """
+            SELECT c.id AS id, c.username AS username, c.password AS password,
+                   'CUSTOMER' AS role, 'ACTIVE' AS status
+            FROM customers c
+            WHERE c.username = :username
+            UNION ALL
+            SELECT e.id, e.username, e.password, 'EMPLOYEE', e.status
+            FROM employees e
+            WHERE e.username = :username
+            ORDER BY role
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<UserCredential> findByUsername(@Param("username") String username);
+}
@@ -1,7 +1,12 @@
 package com.example.bankingapp.repository;
 
+import com.example.bankingapp.dto.principal.CustomerPrincipal;
 import com.example.bankingapp.entities.customer.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -10,4 +15,12 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByAadharNo(String aadharNo);
     Optional<Customer> findByUsername(String username);
     Optional<Customer> findByPhoneNumber(String phoneNumber);
+
+    @Query("SELECT new com.example.bankingapp.dto.principal.CustomerPrincipal(c.id, c.username, c.name) FROM Customer c WHERE c.username = :username")
+    Optional<CustomerPrincipal> findPrincipalByUsername(@Param("username") String username);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Customer c SET c.password = :password WHERE c.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
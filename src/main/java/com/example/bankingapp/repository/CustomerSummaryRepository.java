@@ -0,0 +1,64 @@
+package com.example.bankingapp.repository;
+
+import com.example.bankingapp.entities.customer.CustomerSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface CustomerSummaryRepository extends JpaRepository<CustomerSummary, Long> {
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+       INSERT INTO customer_summaries (customer_id, unread_notifications, updated_at)
+       SELECT n.customer_id, count(*), :updatedAt
+       FROM notifications n
+       WHERE n.id IN (:notificationIds) AND n.status = 'UNREAD'
+       GROUP BY n.customer_id
+       ORDER BY n.customer_id
+       ON CONFLICT (customer_id) DO UPDATE
+       SET unread_notifications = customer_summaries.unread_notifications + (
+               SELECT count(*)
+               FROM notifications n
+               WHERE n.id IN (:notificationIds) AND n.status = 'UNREAD'
+                 AND n.customer_id = customer_summaries.customer_id
+                 AND (customer_summaries.last_read_at IS NULL OR n.created_at > customer_summaries.last_read_at)),
+           updated_at = EXCLUDED.updated_at
+       """, nativeQuery = true)
+    int addUnread(@Param("notificationIds") Collection<Long> notificationIds,
+                  @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query(value = """
+       UPDATE customer_summaries
+       SET unread_notifications = GREATEST(unread_notifications - 1, 0),
+           updated_at = :updatedAt
+       WHERE customer_id = :customerId AND (last_read_at IS NULL OR last_read_at < :createdAt)
+       """, nativeQuery = true)
+    int markRead(@Param("customerId") Long customerId, @Param("createdAt") LocalDateTime createdAt,
+                 @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query(value = """
+       INSERT INTO customer_summaries (customer_id, unread_notifications, updated_at)
+       VALUES (:customerId, 0, :updatedAt)
+       ON CONFLICT (customer_id) DO UPDATE
+       SET unread_notifications = 0,
+           updated_at = EXCLUDED.updated_at
+       """, nativeQuery = true)
+    int resetUnread(@Param("customerId") Long customerId, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query(value = """
+       INSERT INTO customer_summaries (customer_id, unread_notifications, last_read_at, updated_at)
+       VALUES (:customerId, 0, :lastReadAt, :updatedAt)
+       ON CONFLICT (customer_id) DO UPDATE
+       SET unread_notifications = 0,
+           last_read_at = GREATEST(customer_summaries.last_read_at, EXCLUDED.last_read_at),
+           updated_at = EXCLUDED.updated_at
+       """, nativeQuery = true)
+    int advanceReadWatermark(@Param("customerId") Long customerId, @Param("lastReadAt") LocalDateTime lastReadAt,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+}
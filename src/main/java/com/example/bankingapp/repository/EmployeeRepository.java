@@ -1,10 +1,23 @@
 package com.example.bankingapp.repository;
 
+import com.example.bankingapp.dto.principal.EmployeePrincipal;
 import com.example.bankingapp.entities.employee.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByUsername(String username);
+
+    @Query("SELECT new com.example.bankingapp.dto.principal.EmployeePrincipal(e.id, e.username, e.name, e.employeeStatus) FROM Employee e WHERE e.username = :username")
+    Optional<EmployeePrincipal> findPrincipalByUsername(@Param("username") String username);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Employee e SET e.password = :password WHERE e.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
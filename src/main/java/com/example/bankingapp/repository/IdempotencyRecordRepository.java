@@ -0,0 +1,76 @@
+package com.example.bankingapp.repository;
+
+import com.example.bankingapp.entities.idempotency.IdempotencyRecord;
+import com.example.bankingapp.entities.idempotency.IdempotencyRecordId;
+import com.example.bankingapp.entities.idempotency.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecordId> {
+    interface StoredChunk {
+        Integer getChunkIndex();
+        String getResponse();
+    }
+
+    @Modifying
+    @Query(value = """
+       INSERT INTO idempotency_keys (principal, idempotency_key, operation, request_fingerprint, status, created_at)
+       VALUES (:principal, :idempotencyKey, :operation, :requestFingerprint, :status, :createdAt)
+       ON CONFLICT (principal, idempotency_key) DO NOTHING
+       """, nativeQuery = true)
+    int insertIfAbsent(@Param("principal") String principal, @Param("idempotencyKey") String idempotencyKey,
+                       @Param("operation") String operation, @Param("requestFingerprint") String requestFingerprint,
+                       @Param("status") String status, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("""
+       UPDATE IdempotencyRecord r
+       SET r.response = :response
+       WHERE r.id.principal = :principal AND r.id.idempotencyKey = :idempotencyKey
+       """)
+    int storeResponse(@Param("principal") String principal, @Param("idempotencyKey") String idempotencyKey,
+                      @Param("response") String response);
+
+    @Modifying
+    @Query("""
+       UPDATE IdempotencyRecord r
+       SET r.status = :status
+       WHERE r.id.principal = :principal AND r.id.idempotencyKey = :idempotencyKey
+       """)
+    int updateStatus(@Param("principal") String principal, @Param("idempotencyKey") String idempotencyKey,
+                     @Param("status") IdempotencyStatus status);
+
+    @Modifying
+    @Query(value = """
+       INSERT INTO idempotency_chunks (principal, idempotency_key, chunk_index)
+       VALUES (:principal, :idempotencyKey, :chunkIndex)
+       """, nativeQuery = true)
+    int claimChunk(@Param("principal") String principal, @Param("idempotencyKey") String idempotencyKey,
+                   @Param("chunkIndex") int chunkIndex);
+
+    @Modifying
+    @Query(value = """
+       UPDATE idempotency_chunks
+       SET response = :response
+       WHERE principal = :principal AND idempotency_key = :idempotencyKey AND chunk_index = :chunkIndex
+       """, nativeQuery = true)
+    int storeChunk(@Param("principal") String principal, @Param("idempotencyKey") String idempotencyKey,
+                   @Param("chunkIndex") int chunkIndex, @Param("response") String response);
+
+    @Query(value = """
+       SELECT chunk_index AS "chunkIndex", response AS "response"
+       FROM idempotency_chunks
+       WHERE principal = :principal AND idempotency_key = :idempotencyKey AND response IS NOT NULL
+       ORDER BY chunk_index
+       """, nativeQuery = true)
+    List<StoredChunk> findChunks(@Param("principal") String principal, @Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
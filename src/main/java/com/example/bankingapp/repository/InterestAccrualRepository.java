@@ -0,0 +1,62 @@
+package com.example.bankingapp.repository;
+
+import com.example.bankingapp.dto.account.InterestPosting;
+import com.example.bankingapp.entities.account.InterestAccrual;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface InterestAccrualRepository extends JpaRepository<InterestAccrual, Long> {
+    @Modifying
+    @Query(value = """
+       INSERT INTO interest_accruals (account_id, accrued, accrued_through)
+       SELECT a.id, ROUND(a.balance * :dailyRate, 6), :date
+       FROM accounts a
+       WHERE a.id > :fromId AND a.id <= :toId
+       AND a.type = :type
+       AND a.status = 'ACTIVE'
+       AND a.balance > 0
+       ON CONFLICT (account_id) DO UPDATE
+       SET accrued = interest_accruals.accrued + EXCLUDED.accrued,
+           accrued_through = EXCLUDED.accrued_through
+       WHERE interest_accruals.accrued_through < EXCLUDED.accrued_through
+       """, nativeQuery = true)
+    int accrue(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("type") String type,
+               @Param("dailyRate") BigDecimal dailyRate, @Param("date") LocalDate date);
+
+    @Query(value = """
+       WITH locked AS (
+           SELECT a.id
+           FROM accounts a
+           JOIN interest_accruals i ON i.account_id = a.id
+           WHERE a.id > :fromId AND a.id <= :toId
+           AND a.status = 'ACTIVE'
+           AND i.accrued >= 0.005
+           AND (i.posted_through IS NULL OR i.posted_through < :periodEnd)
+           ORDER BY a.id
+           FOR UPDATE OF a, i
+       ), posted AS (
+           UPDATE accounts a
+           SET balance = a.balance + ROUND(i.accrued, 2)
+           FROM interest_accruals i, locked l
+           WHERE a.id = l.id AND i.account_id = a.id
+           AND (i.posted_through IS NULL OR i.posted_through < :periodEnd)
+           RETURNING a.id AS account_id, ROUND(i.accrued, 2) AS amount, a.balance AS balance_after
+       ), settled AS (
+           UPDATE interest_accruals i
+           SET accrued = i.accrued - p.amount, posted_through = :periodEnd
+           FROM posted p
+           WHERE i.account_id = p.account_id
+       )
+       SELECT account_id AS "accountId", amount AS "amount", balance_after AS "balanceAfter"
+       FROM posted
+       ORDER BY account_id
+       """, nativeQuery = true)
+    List<InterestPosting> post(@Param("fromId") Long fromId, @Param("toId") Long toId,
+                               @Param("periodEnd") LocalDate periodEnd);
+}
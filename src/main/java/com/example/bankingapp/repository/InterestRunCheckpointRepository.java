@@ -0,0 +1,34 @@
+package com.example.bankingapp.repository;
+
+import com.example.bankingapp.entities.account.InterestRunCheckpoint;
+import com.example.bankingapp.entities.account.InterestRunCheckpointId;
+import com.example.bankingapp.entities.account.InterestRunType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface InterestRunCheckpointRepository extends JpaRepository<InterestRunCheckpoint, InterestRunCheckpointId> {
+    @Modifying
+    @Query(value = """
+       INSERT INTO interest_run_checkpoints (run_type, run_date, partition_start, partition_end, last_account_id, completed, updated_at)
+       VALUES (:runType, :runDate, :partitionStart, :partitionEnd, :partitionStart, false, :updatedAt)
+       ON CONFLICT (run_type, run_date, partition_start) DO NOTHING
+       """, nativeQuery = true)
+    int insertIfAbsent(@Param("runType") String runType, @Param("runDate") LocalDate runDate,
+                       @Param("partitionStart") Long partitionStart, @Param("partitionEnd") Long partitionEnd,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("""
+       UPDATE InterestRunCheckpoint c
+       SET c.lastAccountId = :lastAccountId, c.completed = :completed, c.updatedAt = :updatedAt
+       WHERE c.id.runType = :runType AND c.id.runDate = :runDate AND c.id.partitionStart = :partitionStart
+       """)
+    int advance(@Param("runType") InterestRunType runType, @Param("runDate") LocalDate runDate,
+                @Param("partitionStart") Long partitionStart, @Param("lastAccountId") Long lastAccountId,
+                @Param("completed") boolean completed, @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -1,19 +1,72 @@
 package com.example.bankingapp.repository;
 
+import com.example.bankingapp.dto.customer.DashboardLoanRow;
+import com.example.bankingapp.dto.loan.LoanDefaultRun;
 import com.example.bankingapp.entities.loan.Loan;
+import com.example.bankingapp.entities.loan.LoanStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificationExecutor<Loan> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Loan l WHERE l.id = :id")
+    Optional<Loan> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
        SELECT l
        FROM Loan l
-       LEFT JOIN FETCH l.transactions
-       WHERE l.id = :id
+       WHERE l.loanStatus = :status AND l.id > :afterId
+       ORDER BY l.id
        """)
-    Optional<Loan> findByIdWithTransactions(Long id);
+    List<Loan> findBatchForUpdate(@Param("status") LoanStatus status,
+                                  @Param("afterId") Long afterId,
+                                  Pageable pageable);
+
+    @Query("""
+       SELECT new com.example.bankingapp.dto.customer.DashboardLoanRow(
+           l.id, a.id, l.loanType, l.loanStatus, l.outstandingSnapshot, l.emi)
+       FROM Loan l JOIN l.account a
+       WHERE a.customer.id = :customerId AND l.loanStatus IN :statuses
+       ORDER BY l.id
+       """)
+    List<DashboardLoanRow> findDashboardRowsByCustomerId(@Param("customerId") Long customerId,
+                                                         @Param("statuses") Collection<LoanStatus> statuses);
+
+    @Query(value = """
+       SELECT EXISTS (
+           SELECT 1
+           FROM loans l
+           WHERE l.account_id = :accountId
+           AND (l.status = 'DEFAULTED' OR (l.status = 'DISBURSED' AND l.due_date < :today))
+       )
+       """, nativeQuery = true)
+    boolean existsOverdueByAccountId(@Param("accountId") Long accountId, @Param("today") LocalDate today);
 
+    @Query(value = """
+       WITH overdue AS (
+           SELECT l.id, l.due_date
+           FROM loans l
+           WHERE l.status = 'DISBURSED' AND l.due_date < :today
+       ), defaulted AS (
+           UPDATE loans l
+           SET status = 'DEFAULTED'
+           FROM overdue o
+           WHERE l.id = o.id AND o.due_date < :defaultBefore
+           AND l.status = 'DISBURSED'
+           RETURNING l.id
+       )
+       SELECT (SELECT COUNT(*) FROM overdue) AS "scanned", (SELECT COUNT(*) FROM defaulted) AS "updated"
+       """, nativeQuery = true)
+    LoanDefaultRun markDefaulted(@Param("today") LocalDate today, @Param("defaultBefore") LocalDate defaultBefore);
 }
@@ -0,0 +1,19 @@
+package com.example.bankingapp.repository;
+
+import com.example.bankingapp.entities.notification.NotificationEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface NotificationEventRepository extends JpaRepository<NotificationEvent, Long> {
+    @Query(value = """
+       SELECT *
+       FROM notification_outbox
+       ORDER BY id
+       LIMIT :limit
+       FOR UPDATE SKIP LOCKED
+       """, nativeQuery = true)
+    List<NotificationEvent> claimBatch(@Param("limit") int limit);
+}
@@ -1,6 +1,5 @@
 package com.example.bankingapp.repository;
 
-import com.example.bankingapp.entities.customer.Customer;
 import com.example.bankingapp.entities.notification.Notification;
 import com.example.bankingapp.entities.notification.NotificationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,6 +10,10 @@ import org.springframework.data.repository.query.Param;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long>, JpaSpecificationExecutor<Notification> {
     @Modifying
-    @Query("UPDATE Notification n SET n.notificationStatus = :status WHERE n.customer = :customer AND n.notificationStatus = :currentStatus")
-    int markAllAsRead(@Param("status")NotificationStatus status, @Param("customer")Customer customer, @Param("currentStatus") NotificationStatus currentStatus);
+    @Query("UPDATE Notification n SET n.notificationStatus = :status WHERE n.customer.id = :customerId AND n.notificationStatus = :currentStatus")
+    int markAllAsRead(@Param("status")NotificationStatus status, @Param("customerId") Long customerId, @Param("currentStatus") NotificationStatus currentStatus);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.notificationStatus = :status WHERE n.id = :id AND n.notificationStatus = :currentStatus")
+    int markAsRead(@Param("status") NotificationStatus status, @Param("id") Long id, @Param("currentStatus") NotificationStatus currentStatus);
 }
@@ -1,9 +1,65 @@
 package com.example.bankingapp.repository;
 
+import com.example.bankingapp.dto.transaction.TransactionStatementRow;
 import com.example.bankingapp.entities.transaction.Transaction;
+import com.example.bankingapp.entities.transaction.TransactionStatus;
+import com.example.bankingapp.entities.transaction.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
 
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>,
+        TransactionRepositoryCustom {
+    @Query("""
+       SELECT COALESCE(SUM(t.amount), 0)
+       FROM Transaction t
+       WHERE t.fromAccount.id = :accountId
+       AND t.dateOfTransaction >= :since
+       AND t.transactionStatus = :status
+       AND t.transactionType IN :types
+       """)
+    BigDecimal sumFromAccountSince(@Param("accountId") Long accountId, @Param("since") LocalDateTime since,
+                                   @Param("status") TransactionStatus status,
+                                   @Param("types") Collection<TransactionType> types);
+
+    @Query("""
+       SELECT COALESCE(SUM(t.amount), 0)
+       FROM Transaction t
+       WHERE t.toAccount.id = :accountId
+       AND t.dateOfTransaction >= :since
+       AND t.transactionStatus = :status
+       AND t.transactionType IN :types
+       """)
+    BigDecimal sumToAccountSince(@Param("accountId") Long accountId, @Param("since") LocalDateTime since,
+                                 @Param("status") TransactionStatus status,
+                                 @Param("types") Collection<TransactionType> types);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+       SELECT new com.example.bankingapp.dto.transaction.TransactionStatementRow(
+           t.id, t.dateOfTransaction, t.transactionType, t.transactionStatus, t.amount,
+           t.fromAccount.id, t.toAccount.id,
+           CASE WHEN t.toAccount.id = :accountId THEN t.toBalanceAfter ELSE t.fromBalanceAfter END,
+           t.failureReason)
+       FROM Transaction t
+       WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId)
+       AND t.dateOfTransaction >= :from
+       AND t.dateOfTransaction <= :to
+       ORDER BY t.dateOfTransaction, t.id
+       """)
+    Stream<TransactionStatementRow> streamStatement(@Param("accountId") Long accountId,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
 }
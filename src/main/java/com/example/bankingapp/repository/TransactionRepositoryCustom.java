@@ -0,0 +1,15 @@
+package com.example.bankingapp.repository;
+
+import com.example.bankingapp.dto.transaction.TransactionSummaryView;
+import com.example.bankingapp.entities.transaction.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface TransactionRepositoryCustom {
+    Page<TransactionSummaryView> findSummaries(Specification<Transaction> specification, Pageable pageable);
+
+    Slice<TransactionSummaryView> findSummarySlice(Specification<Transaction> specification, Sort sort, int size);
+}
@@ -0,0 +1,83 @@
+package com.example.bankingapp.repository;
+
+import com.example.bankingapp.dto.transaction.TransactionSummaryView;
+import com.example.bankingapp.entities.transaction.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TransactionSummaryView> findSummaries(Specification<Transaction> specification, Pageable pageable) {
+        TypedQuery<TransactionSummaryView> query = createSummaryQuery(specification, pageable.getSort());
+        if(pageable.isPaged()){
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<TransactionSummaryView> content = query.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    @Override
+    public Slice<TransactionSummaryView> findSummarySlice(Specification<Transaction> specification, Sort sort, int size) {
+        List<TransactionSummaryView> content = createSummaryQuery(specification, sort)
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = content.size() > size;
+        if(hasNext) content = content.subList(0, size);
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    private TypedQuery<TransactionSummaryView> createSummaryQuery(Specification<Transaction> specification, Sort sort){
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<TransactionSummaryView> query = builder.createQuery(TransactionSummaryView.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Join<Object, Object> fromAccount = root.join("fromAccount", JoinType.LEFT);
+        Join<Object, Object> fromCustomer = fromAccount.join("customer", JoinType.LEFT);
+        Join<Object, Object> toAccount = root.join("toAccount", JoinType.LEFT);
+        Join<Object, Object> toCustomer = toAccount.join("customer", JoinType.LEFT);
+
+        query.select(builder.construct(TransactionSummaryView.class,
+                root.get("id"),
+                root.get("dateOfTransaction"),
+                root.get("amount"),
+                root.get("transactionStatus"),
+                fromAccount.get("id"),
+                fromCustomer.get("id"),
+                fromCustomer.get("name"),
+                root.get("fromBalanceAfter"),
+                toAccount.get("id"),
+                toCustomer.get("id"),
+                toCustomer.get("name"),
+                root.get("toBalanceAfter")));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if(predicate != null) query.where(predicate);
+        if(sort.isSorted()) query.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Transaction> specification){
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if(predicate != null) query.where(predicate);
+        query.select(query.isDistinct() ? builder.countDistinct(root) : builder.count(root));
+        query.orderBy(List.of());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
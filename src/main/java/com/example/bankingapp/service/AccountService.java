@@ -4,13 +4,18 @@ import com.example.bankingapp.dto.account.AccountBalanceResponseDTO;
 import com.example.bankingapp.dto.account.AccountRequestDTO;
 import com.example.bankingapp.dto.account.AccountResponseDTO;
 import com.example.bankingapp.dto.account.AccountSummaryDTO;
+import com.example.bankingapp.dto.cursor.CursorSliceDTO;
+import com.example.bankingapp.dto.principal.CustomerPrincipal;
+import com.example.bankingapp.dto.principal.EmployeePrincipal;
 import com.example.bankingapp.dto.transaction.TransactionResponseDTO;
 import com.example.bankingapp.dto.transaction.TransactionSummaryDTO;
+import com.example.bankingapp.dto.transaction.TransactionSummaryView;
 import com.example.bankingapp.entities.account.Account;
 import com.example.bankingapp.entities.account.AccountStatus;
 import com.example.bankingapp.entities.customer.Customer;
 import com.example.bankingapp.entities.employee.Employee;
 import com.example.bankingapp.entities.employee.EmployeeStatus;
+import com.example.bankingapp.entities.notification.NotificationEventType;
 import com.example.bankingapp.entities.notification.NotificationType;
 import com.example.bankingapp.entities.transaction.Transaction;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
@@ -21,9 +26,12 @@ import com.example.bankingapp.repository.CustomerRepository;
 import com.example.bankingapp.repository.EmployeeRepository;
 import com.example.bankingapp.repository.TransactionRepository;
 import com.example.bankingapp.specification.TransactionSpecifications;
+import com.example.bankingapp.utils.KeysetCursor;
+import com.example.bankingapp.utils.PageLimits;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -32,8 +40,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class AccountService {
@@ -42,45 +50,60 @@ public class AccountService {
     private final TransactionRepository transactionRepository;
     private final EmployeeRepository employeeRepository;
     private final NotificationService notificationService;
+    private final DailyLimitService dailyLimitService;
+    private final LedgerService ledgerService;
+    private final PrincipalResolver principalResolver;
+    private final OperationMetrics operationMetrics;
 
     public AccountService(AccountRepository accountRepository,
                           CustomerRepository customerRepository,
                           TransactionRepository transactionRepository,
                           EmployeeRepository employeeRepository,
-                          NotificationService notificationService){
+                          NotificationService notificationService,
+                          DailyLimitService dailyLimitService,
+                          LedgerService ledgerService,
+                          PrincipalResolver principalResolver,
+                          OperationMetrics operationMetrics){
         this.accountRepository = accountRepository;
         this.customerRepository = customerRepository;
         this.transactionRepository = transactionRepository;
         this.employeeRepository = employeeRepository;
         this.notificationService = notificationService;
+        this.dailyLimitService = dailyLimitService;
+        this.ledgerService = ledgerService;
+        this.principalResolver = principalResolver;
+        this.operationMetrics = operationMetrics;
     }
 
     private AccountResponseDTO accountToAccountDTO(Account account){
+        return accountToAccountDTO(account, account.getCustomer().getName());
+    }
+
+    private AccountResponseDTO accountToAccountDTO(Account account, String customerName){
         AccountResponseDTO responseDTO = new AccountResponseDTO();
         responseDTO.setAccountId(account.getId());
         responseDTO.setAccountType(account.getAccountType());
         responseDTO.setAccountStatus(account.getAccountStatus());
-        responseDTO.setCustomerName(account.getCustomer().getName());
+        responseDTO.setCustomerName(customerName);
         responseDTO.setDateOfIssuance(account.getDateOfIssuance());
         return responseDTO;
     }
 
-    private List<AccountSummaryDTO> getAllAccounts(Customer customer){
-        List<AccountSummaryDTO> listOfDtos = new ArrayList<>();
-        for(Account account : customer.getAccounts()){
-            AccountSummaryDTO dto = new AccountSummaryDTO(account.getId(), account.getAccountType());
-            listOfDtos.add(dto);
-        }
-        return listOfDtos;
+    private Employee validateEmployeeFromUsername(String username){
+        return validateEmployee(principalResolver.findEmployee(username));
     }
 
-    private Employee validateEmployeeFromUsername(String username){
-        Employee employee = employeeRepository.findByUsername(username).orElseThrow(EmployeeNotFoundException::new);
-        if(employee.getEmployeeStatus() != EmployeeStatus.ACTIVE){
+    private Employee validateCurrentEmployeeFromUsername(String username){
+        return validateEmployee(principalResolver.findCurrentEmployee(username));
+    }
+
+    private Employee validateEmployee(Optional<EmployeePrincipal> principal){
+        EmployeePrincipal employee = principal.orElseThrow(EmployeeNotFoundException::new);
+        if(employee.employeeStatus() != EmployeeStatus.ACTIVE){
             throw new EmployeeInactiveException();
         }
 
-        return employee;
+        return employeeRepository.getReferenceById(employee.id());
     }
 
     private Account createAccount(AccountRequestDTO requestDTO, Customer customer){
@@ -93,9 +116,7 @@ public class AccountService {
         account.setCustomer(customer);
         account.setDateOfIssuance(LocalDate.now());
 
-        customer.addAccount(account);
         accountRepository.save(account);
-        customerRepository.save(customer);
 
         return account;
     }
@@ -112,16 +133,34 @@ public class AccountService {
 
     private Page<TransactionSummaryDTO> getAllTransactions(Account account, int page, int size, TransactionStatus status,
                                                            TransactionType type, LocalDate fromDate, LocalDate toDate){
-        Pageable pageable = PageRequest.of(page, size, Sort.by("dateOfTransaction"));
+        Pageable pageable = PageRequest.of(page, PageLimits.checkSize(size), Sort.by("dateOfTransaction"));
         Specification<Transaction> specification = TransactionSpecifications.forAccounts(account)
                 .and(TransactionSpecifications.withStatus(status))
                 .and(TransactionSpecifications.withType(type))
                 .and(TransactionSpecifications.dateBetween(fromDate, toDate));;
-        Page<Transaction> pageDto = transactionRepository.findAll(specification, pageable);
+        Long customerId = account.getCustomer().getId();
+        return transactionRepository.findSummaries(specification, pageable)
+                .map(view -> new TransactionSummaryDTO(view, customerId));
+    }
 
-        return pageDto.map(
-                transaction -> new TransactionSummaryDTO(transaction, account.getCustomer())
-        );
+    private CursorSliceDTO<TransactionSummaryDTO> getTransactionSlice(Account account, String cursor, int size,
+                                                                     TransactionStatus status, TransactionType type,
+                                                                     LocalDate fromDate, LocalDate toDate){
+        Sort sort = Sort.by("dateOfTransaction").descending().and(Sort.by("id").descending());
+        Specification<Transaction> specification = TransactionSpecifications.forAccounts(account)
+                .and(TransactionSpecifications.withStatus(status))
+                .and(TransactionSpecifications.withType(type))
+                .and(TransactionSpecifications.dateBetween(fromDate, toDate))
+                .and(TransactionSpecifications.seekBefore(KeysetCursor.decode(cursor)));
+        Slice<TransactionSummaryView> views = transactionRepository.findSummarySlice(specification, sort, PageLimits.checkSize(size));
+
+        String nextCursor = null;
+        if(views.hasContent()){
+            TransactionSummaryView last = views.getContent().get(views.getNumberOfElements() - 1);
+            nextCursor = new KeysetCursor(last.dateOfTransaction(), last.transactionId()).encode();
+        }
+        Long customerId = account.getCustomer().getId();
+        return new CursorSliceDTO<>(views.map(view -> new TransactionSummaryDTO(view, customerId)), nextCursor);
     }
 
     private AccountBalanceResponseDTO getBalance(Account account){
@@ -149,70 +188,84 @@ public class AccountService {
     }
 
     public List<AccountSummaryDTO> getAllCustomerAccounts(String customerUsername){
-        Customer customer = customerRepository.findByUsername(customerUsername)
+        CustomerPrincipal customer = principalResolver.findCustomer(customerUsername)
                 .orElseThrow(CustomerNotFoundException::new);
-        return getAllAccounts(customer);
+        return accountRepository.findSummariesByCustomerId(customer.id());
     }
 
     public AccountResponseDTO getParticularCustomerAccount(Long accountId, String customerUsername){
-        Customer customer = customerRepository.findByUsername(customerUsername).orElseThrow(CustomerNotFoundException::new);
+        CustomerPrincipal customer = principalResolver.findCustomer(customerUsername).orElseThrow(CustomerNotFoundException::new);
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(AccountNotFoundException::new);
-        if(!account.getCustomer().getId().equals(customer.getId())){
+        if(!account.getCustomer().getId().equals(customer.id())){
             throw new AccountAccessDeniedException("You are not authorized to access this account.");
         }
-        return accountToAccountDTO(account);
+        return accountToAccountDTO(account, customer.name());
     }
 
     public Page<TransactionSummaryDTO> getAllAccountTransactions(Long accountId, int page, int size, TransactionStatus status,
                                                                   TransactionType type, LocalDate fromDate, LocalDate toDate, String customerUsername){
-        Customer customer = customerRepository.findByUsername(customerUsername).orElseThrow(CustomerNotFoundException::new);
+        CustomerPrincipal customer = principalResolver.findCustomer(customerUsername).orElseThrow(CustomerNotFoundException::new);
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(AccountNotFoundException::new);
-        if(!account.getCustomer().getId().equals(customer.getId())){
+        if(!account.getCustomer().getId().equals(customer.id())){
             throw new AccountAccessDeniedException("You are not authorized to access this account.");
         }
 
         return getAllTransactions(account, page, size, status, type, fromDate, toDate);
     }
 
+    public CursorSliceDTO<TransactionSummaryDTO> getAccountTransactionSlice(Long accountId, String cursor, int size,
+                                                                            TransactionStatus status, TransactionType type,
+                                                                            LocalDate fromDate, LocalDate toDate,
+                                                                            String customerUsername){
+        CustomerPrincipal customer = principalResolver.findCustomer(customerUsername).orElseThrow(CustomerNotFoundException::new);
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(AccountNotFoundException::new);
+        if(!account.getCustomer().getId().equals(customer.id())){
+            throw new AccountAccessDeniedException("You are not authorized to access this account.");
+        }
+
+        return getTransactionSlice(account, cursor, size, status, type, fromDate, toDate);
+    }
+
     @Transactional
     public AccountResponseDTO createAccountByCustomer(AccountRequestDTO requestDTO, String customerUsername){
-        Customer customer = customerRepository.findByUsername(customerUsername).orElseThrow(CustomerNotFoundException::new);
-        Account account = createAccount(requestDTO, customer);
+        CustomerPrincipal customer = principalResolver.findCustomer(customerUsername).orElseThrow(CustomerNotFoundException::new);
+        Account account = createAccount(requestDTO, customerRepository.getReferenceById(customer.id()));
 
-        String message = "Hello " + customer.getName() +
+        String message = "Hello " + customer.name() +
                 "! Your new account (Account No: " + account.getId() + ") has been successfully created." +
                 " You can now start using it for deposits, withdrawals, and other banking services.";
-        notificationService.createNotification(customer, NotificationType.INFO, message);
+        notificationService.createNotification(customer.id(), NotificationType.INFO, message);
 
-        return accountToAccountDTO(account);
+        return accountToAccountDTO(account, customer.name());
     }
 
     @Transactional
     public AccountResponseDTO deleteAccount(Long accountId, String customerUsername){
-        Customer customer = customerRepository.findByUsername(customerUsername).orElseThrow(CustomerNotFoundException::new);
+        CustomerPrincipal customer = principalResolver.findCustomer(customerUsername).orElseThrow(CustomerNotFoundException::new);
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(AccountNotFoundException::new);
-        if(!account.getCustomer().getId().equals(customer.getId())){
+        if(!account.getCustomer().getId().equals(customer.id())){
             throw new AccountAccessDeniedException("You are not authorized to access this account.");
         }
 
-        deleteAccount(account, customer);
+        deleteAccount(account, account.getCustomer());
 
-        String message = "Hello " + customer.getName() +
+        String message = "Hello " + customer.name() +
                 "! Your account (Account No: " + account.getId() + ") has been successfully closed." +
                 " If you have any remaining balance or questions, please contact our support.";
-        notificationService.createNotification(customer, NotificationType.INFO, message);
+        notificationService.createNotification(customer.id(), NotificationType.INFO, message);
 
-        return  accountToAccountDTO(account);
+        return  accountToAccountDTO(account, customer.name());
     }
 
     public AccountBalanceResponseDTO getAccountBalance(Long accountId, String customerUsername){
-        Customer customer = customerRepository.findByUsername(customerUsername).orElseThrow(CustomerNotFoundException::new);
+        CustomerPrincipal customer = principalResolver.findCustomer(customerUsername).orElseThrow(CustomerNotFoundException::new);
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(AccountNotFoundException::new);
-        if(!account.getCustomer().getId().equals(customer.getId())){
+        if(!account.getCustomer().getId().equals(customer.id())){
             throw new AccountAccessDeniedException("You are not authorized to access this account.");
         }
 
@@ -221,8 +274,8 @@ public class AccountService {
 
     public List<AccountSummaryDTO> getAllAccountsOfCustomer(Long customerId, String employeeUsername){
         validateEmployeeFromUsername(employeeUsername);
-        Customer customer = customerRepository.findById(customerId).orElseThrow(CustomerNotFoundException::new);
-        return getAllAccounts(customer);
+        if(!customerRepository.existsById(customerId)) throw new CustomerNotFoundException();
+        return accountRepository.findSummariesByCustomerId(customerId);
     }
 
     public AccountResponseDTO getParticularAccountOfCustomer(Long accountId, String employeeUsername){
@@ -273,47 +326,32 @@ public class AccountService {
         return  getBalance(account);
     }
 
-    @Transactional
-    public TransactionResponseDTO depositFund(Long accountId, BigDecimal fund, String employeeUsername){
-        Employee employee = validateEmployeeFromUsername(employeeUsername);
-        Account account = accountRepository.findById(accountId).orElseThrow(AccountNotFoundException::new);
+    private TransactionResponseDTO deposit(Long accountId, BigDecimal fund, String employeeUsername){
+        Employee employee = validateCurrentEmployeeFromUsername(employeeUsername);
+        Account account = accountRepository.findByIdForUpdate(accountId).orElseThrow(AccountNotFoundException::new);
         validateFundAndAccount(fund, account);
 
         Transaction transaction = getTransaction(fund, account);
         transaction.setTransactionType(TransactionType.DEPOSIT);
         transaction.setToAccount(account);
         transaction.setFromAccount(null);
-        employee.addHandledTransaction(transaction);
-
-        BigDecimal sumAmount = fund;
-        Specification<Transaction> specification = TransactionSpecifications.forToAccounts(account)
-                .and(TransactionSpecifications.dateBetween(LocalDate.now(), null));
-        List<Transaction> listOfTransaction = transactionRepository.findAll(specification);
-        for(Transaction tempTransaction : listOfTransaction) {
-                if (tempTransaction.isCredit()) {
-                    sumAmount = sumAmount.add(tempTransaction.getAmount());
-                }
-        }
+        transaction.setHandledBy(employee);
 
-        String message = "";
-        if(sumAmount.compareTo(BigDecimal.valueOf(50000)) > 0){
+        if(!dailyLimitService.tryCredit(account.getId(), fund)){
             transaction.setTransactionStatus(TransactionStatus.FAILED);
             transaction.setFailureReason("Daily maximum deposit limit exceeded.");
         }
         else{
-            account.deposit(fund);
+            if(!ledgerService.credit(account, fund)) throw new AccountNotActiveException();
             transaction.setTransactionStatus(TransactionStatus.SUCCESS);
+            transaction.setToBalanceAfter(account.getBalance());
             transaction.setFailureReason(null);
-            message = "Dear " + account.getCustomer().getName() + ", A/C " + account.getId() +
-                    " deposited with " + fund + " on date " + transaction.getDateOfTransaction() + ".";
         }
 
         transactionRepository.save(transaction);
-        accountRepository.save(account);
-        employeeRepository.save(employee);
 
-        if(!message.isBlank()){
-            notificationService.createNotification(account.getCustomer(), NotificationType.TRANSACTION, message);
+        if(transaction.getTransactionStatus() == TransactionStatus.SUCCESS){
+            notificationService.publishAccountEvent(NotificationEventType.DEPOSIT, account, fund, transaction.getDateOfTransaction());
         }
         TransactionResponseDTO dto = new TransactionResponseDTO(transaction, null);
         dto.setSelf(account.getCustomer().getName());
@@ -324,48 +362,39 @@ public class AccountService {
     }
 
     @Transactional
-    public TransactionResponseDTO withdrawFund(Long accountId, BigDecimal fund, String employeeUsername){
-        Employee employee = validateEmployeeFromUsername(employeeUsername);
-        Account account = accountRepository.findById(accountId).orElseThrow(AccountNotFoundException::new);
+    public TransactionResponseDTO depositFund(Long accountId, BigDecimal fund, String employeeUsername){
+        return operationMetrics.record("deposit", () -> deposit(accountId, fund, employeeUsername),
+                OperationMetrics.Outcome::of);
+    }
+
+    private TransactionResponseDTO withdraw(Long accountId, BigDecimal fund, String employeeUsername){
+        Employee employee = validateCurrentEmployeeFromUsername(employeeUsername);
+        Account account = accountRepository.findByIdForUpdate(accountId).orElseThrow(AccountNotFoundException::new);
         validateFundAndAccount(fund, account);
 
         Transaction transaction = getTransaction(fund, account);
         transaction.setTransactionType(TransactionType.WITHDRAWAL);
-        employee.addHandledTransaction(transaction);
-
-        BigDecimal sumAmount = fund;
-        Specification<Transaction> specification = TransactionSpecifications.forFromAccounts(account)
-                .and(TransactionSpecifications.dateBetween(LocalDate.now(), null));
-        List<Transaction> listOfTransaction = transactionRepository.findAll(specification);
-        for(Transaction tempTransaction : listOfTransaction) {
-                if (tempTransaction.isDebit() || tempTransaction.getTransactionType().equals(TransactionType.TRANSFERRED)) {
-                    sumAmount = sumAmount.add(tempTransaction.getAmount());
-                }
-        }
+        transaction.setHandledBy(employee);
 
-        String message = "";
-        if(fund.compareTo(account.getBalance()) > 0){
+        if(!dailyLimitService.tryDebit(account.getId(), fund)){
             transaction.setTransactionStatus(TransactionStatus.FAILED);
-            transaction.setFailureReason("Insufficient balance.");
+            transaction.setFailureReason("Daily maximum withdraw limit exceeded.");
         }
-        else if(sumAmount.compareTo(BigDecimal.valueOf(50000)) > 0){
+        else if(!ledgerService.debit(account, fund)){
+            dailyLimitService.releaseDebit(account.getId(), fund);
             transaction.setTransactionStatus(TransactionStatus.FAILED);
-            transaction.setFailureReason("Daily maximum withdraw limit exceeded.");
+            transaction.setFailureReason("Insufficient balance.");
         }
         else{
-            account.withdrawal(fund);
             transaction.setTransactionStatus(TransactionStatus.SUCCESS);
             transaction.setFailureReason(null);
-            message = "Dear " + account.getCustomer().getName() + ", A/C " + account.getId() +
-                    " has a withdrawal of " + fund + " on date " + transaction.getDateOfTransaction() + ".";
+            transaction.setFromBalanceAfter(account.getBalance());
         }
 
         transactionRepository.save(transaction);
-        accountRepository.save(account);
-        employeeRepository.save(employee);
 
-        if(!message.isBlank()){
-            notificationService.createNotification(account.getCustomer(), NotificationType.TRANSACTION, message);
+        if(transaction.getTransactionStatus() == TransactionStatus.SUCCESS){
+            notificationService.publishAccountEvent(NotificationEventType.WITHDRAWAL, account, fund, transaction.getDateOfTransaction());
         }
 
         TransactionResponseDTO dto = new TransactionResponseDTO(transaction, null);
@@ -375,4 +404,10 @@ public class AccountService {
 
         return dto;
     }
+
+    @Transactional
+    public TransactionResponseDTO withdrawFund(Long accountId, BigDecimal fund, String employeeUsername){
+        return operationMetrics.record("withdraw", () -> withdraw(accountId, fund, employeeUsername),
+                OperationMetrics.Outcome::of);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.dto.principal.EmployeePrincipal;
+import com.example.bankingapp.dto.transaction.BulkTransferResultDTO;
+import com.example.bankingapp.dto.transaction.TransactionRequestDTO;
+import com.example.bankingapp.entities.account.Account;
+import com.example.bankingapp.entities.account.AccountStatus;
+import com.example.bankingapp.entities.employee.Employee;
+import com.example.bankingapp.entities.employee.EmployeeStatus;
+import com.example.bankingapp.entities.transaction.Transaction;
+import com.example.bankingapp.entities.transaction.TransactionStatus;
+import com.example.bankingapp.entities.transaction.TransactionType;
+import com.example.bankingapp.exception.EmployeeInactiveException;
+import com.example.bankingapp.exception.EmployeeNotFoundException;
+import com.example.bankingapp.repository.AccountRepository;
+import com.example.bankingapp.repository.EmployeeRepository;
+import com.example.bankingapp.repository.TransactionRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class BulkTransferService {
+    public static final int MAX_ITEMS = 10_000;
+    private static final int CHUNK_SIZE = 500;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DailyLimitService dailyLimitService;
+    private final NotificationService notificationService;
+    private final PrincipalResolver principalResolver;
+
+    public BulkTransferService(AccountRepository accountRepository,
+                               TransactionRepository transactionRepository,
+                               EmployeeRepository employeeRepository,
+                               DailyLimitService dailyLimitService,
+                               NotificationService notificationService,
+                               PrincipalResolver principalResolver){
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.employeeRepository = employeeRepository;
+        this.dailyLimitService = dailyLimitService;
+        this.notificationService = notificationService;
+        this.principalResolver = principalResolver;
+    }
+
+    private static class Settlement {
+        private final Map<Long, BigDecimal> balances = new HashMap<>();
+        private final Map<Long, BigDecimal> deltas = new HashMap<>();
+        private final Map<Long, BigDecimal> debitAllowances = new HashMap<>();
+        private final Map<Long, BigDecimal> debitTotals = new HashMap<>();
+    }
+
+    public IdempotencyService.Chunks<BulkTransferResultDTO> transferFundsByEmployee(List<TransactionRequestDTO> requests, String username){
+        if(requests == null || requests.isEmpty()){
+            throw new IllegalArgumentException("At least one transfer is required.");
+        }
+        if(requests.size() > MAX_ITEMS){
+            throw new IllegalArgumentException("A bulk transfer cannot contain more than " + MAX_ITEMS + " items.");
+        }
+        EmployeePrincipal employee = principalResolver.findCurrentEmployee(username).orElseThrow(() -> new EmployeeNotFoundException("Employee with username " + username + " not found."));
+        if (employee.employeeStatus() != EmployeeStatus.ACTIVE) {
+            throw new EmployeeInactiveException();
+        }
+
+        List<BulkTransferResultDTO> results = new ArrayList<>(requests.size());
+        for(int i = 0; i < requests.size(); i++){
+            results.add(new BulkTransferResultDTO(i, requests.get(i)));
+        }
+
+        return new IdempotencyService.Chunks<>() {
+            @Override
+            public int count() {
+                return (results.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            }
+
+            @Override
+            public List<BulkTransferResultDTO> settle(int index) {
+                List<BulkTransferResultDTO> chunk = chunk(results, index);
+                BulkTransferService.this.settle(chunk, employee.id());
+                return chunk;
+            }
+
+            @Override
+            public List<BulkTransferResultDTO> failed(int index) {
+                List<BulkTransferResultDTO> chunk = chunk(results, index);
+                chunk.forEach(result -> {
+                    result.setTransactionId(null);
+                    result.setTransactionStatus(TransactionStatus.FAILED);
+                    result.setFailureReason("Settlement failed.");
+                });
+                return chunk;
+            }
+        };
+    }
+
+    private static List<BulkTransferResultDTO> chunk(List<BulkTransferResultDTO> results, int index){
+        int from = index * CHUNK_SIZE;
+        return results.subList(from, Math.min(from + CHUNK_SIZE, results.size()));
+    }
+
+    private void settle(List<BulkTransferResultDTO> chunk, Long employeeId){
+        TreeSet<Long> accountIds = new TreeSet<>();
+        chunk.forEach(result -> {
+            if(result.getFromAccountId() != null) accountIds.add(result.getFromAccountId());
+            if(result.getToAccountId() != null) accountIds.add(result.getToAccountId());
+        });
+        Map<Long, Account> accounts = accountIds.isEmpty() ? Map.of() : accountRepository.findAllByIdForUpdate(accountIds)
+                .stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+
+        Employee employee = employeeRepository.getReferenceById(employeeId);
+        Settlement settlement = new Settlement();
+        List<Transaction> transactions = new ArrayList<>();
+        List<BulkTransferResultDTO> recorded = new ArrayList<>();
+        for(BulkTransferResultDTO result : chunk){
+            Transaction transaction = settle(result, accounts, settlement);
+            if(transaction == null) continue;
+            transaction.setHandledBy(employee);
+            transactions.add(transaction);
+            recorded.add(result);
+        }
+
+        transactionRepository.saveAll(transactions);
+        for(int i = 0; i < transactions.size(); i++){
+            recorded.get(i).setTransactionId(transactions.get(i).getId());
+        }
+
+        settlement.deltas.forEach((accountId, delta) -> {
+            if(delta.signum() != 0) accountRepository.adjustBalance(accountId, delta);
+        });
+        settlement.debitTotals.forEach(dailyLimitService::recordDebit);
+        notificationService.publishTransfers(transactions.stream()
+                .filter(transaction -> transaction.getTransactionStatus() == TransactionStatus.SUCCESS)
+                .toList());
+    }
+
+    private Transaction settle(BulkTransferResultDTO result, Map<Long, Account> accounts, Settlement settlement){
+        Account fromAccount = accounts.get(result.getFromAccountId());
+        Account toAccount = accounts.get(result.getToAccountId());
+        BigDecimal amount = result.getAmount();
+        String rejection = null;
+        if(fromAccount == null) rejection = "The account with id " + result.getFromAccountId() + " does not exist";
+        else if(toAccount == null) rejection = "The account with id " + result.getToAccountId() + " does not exist";
+        else if(fromAccount.getAccountStatus() != AccountStatus.ACTIVE) rejection = "The sender's account is currently " + fromAccount.getAccountStatus() + ".";
+        else if(toAccount.getAccountStatus() != AccountStatus.ACTIVE) rejection = "The recipient's account is currently " + toAccount.getAccountStatus() + ".";
+        else if(fromAccount.equals(toAccount)) rejection = "Sender and recipient account cannot be the same.";
+        else if(amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) rejection = "Amount must be greater than zero.";
+        if(rejection != null){
+            result.setTransactionStatus(TransactionStatus.FAILED);
+            result.setFailureReason(rejection);
+            return null;
+        }
+
+        Transaction transaction = new Transaction();
+        transaction.setDateOfTransaction(LocalDateTime.now());
+        transaction.setAmount(amount);
+        transaction.setFromAccount(fromAccount);
+        transaction.setToAccount(toAccount);
+        transaction.setTransactionType(TransactionType.TRANSFERRED);
+
+        Long fromId = fromAccount.getId();
+        Long toId = toAccount.getId();
+        BigDecimal balance = settlement.balances.computeIfAbsent(fromId, id -> fromAccount.getBalance());
+        BigDecimal allowance = settlement.debitAllowances.computeIfAbsent(fromId, dailyLimitService::remainingDebit);
+        if(balance.compareTo(amount) < 0){
+            transaction.setTransactionStatus(TransactionStatus.FAILED);
+            transaction.setFailureReason("Insufficient balance.");
+        }
+        else if(allowance.compareTo(amount) < 0){
+            transaction.setTransactionStatus(TransactionStatus.FAILED);
+            transaction.setFailureReason("Daily payment limit reached.");
+        }
+        else {
+            BigDecimal fromBalanceAfter = balance.subtract(amount);
+            BigDecimal toBalanceAfter = settlement.balances.getOrDefault(toId, toAccount.getBalance()).add(amount);
+            settlement.balances.put(fromId, fromBalanceAfter);
+            settlement.balances.put(toId, toBalanceAfter);
+            transaction.setFromBalanceAfter(fromBalanceAfter);
+            transaction.setToBalanceAfter(toBalanceAfter);
+            settlement.deltas.merge(fromId, amount.negate(), BigDecimal::add);
+            settlement.deltas.merge(toId, amount, BigDecimal::add);
+            settlement.debitAllowances.put(fromId, allowance.subtract(amount));
+            settlement.debitTotals.merge(fromId, amount, BigDecimal::add);
+            transaction.setTransactionStatus(TransactionStatus.SUCCESS);
+        }
+
+        result.setTransactionStatus(transaction.getTransactionStatus());
+        result.setFailureReason(transaction.getFailureReason());
+        return transaction;
+    }
+}
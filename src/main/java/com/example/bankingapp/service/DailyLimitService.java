@@ -0,0 +1,169 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.entities.account.AccountDailyLimit;
+import com.example.bankingapp.entities.account.AccountDailyLimitId;
+import com.example.bankingapp.entities.transaction.TransactionStatus;
+import com.example.bankingapp.entities.transaction.TransactionType;
+import com.example.bankingapp.repository.AccountDailyLimitRepository;
+import com.example.bankingapp.repository.TransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class DailyLimitService {
+    public static final BigDecimal DAILY_LIMIT = BigDecimal.valueOf(50000);
+
+    private static final Set<TransactionType> DEBIT_TYPES = EnumSet.of(TransactionType.WITHDRAWAL,
+            TransactionType.CHARGE, TransactionType.LOAN_REPAYMENT, TransactionType.TRANSFERRED);
+    private static final Set<TransactionType> CREDIT_TYPES = EnumSet.of(TransactionType.DEPOSIT,
+            TransactionType.INTEREST, TransactionType.LOAN_DISBURSEMENT);
+
+    private final AccountDailyLimitRepository limitRepository;
+    private final TransactionRepository transactionRepository;
+    private final AtomicReference<DailyUsage> usageOfDay = new AtomicReference<>(new DailyUsage(LocalDate.now()));
+
+    public DailyLimitService(AccountDailyLimitRepository limitRepository,
+                             TransactionRepository transactionRepository){
+        this.limitRepository = limitRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    private record Usage(BigDecimal debitTotal, BigDecimal creditTotal) {
+        Usage max(Usage other){
+            return new Usage(debitTotal.max(other.debitTotal()), creditTotal.max(other.creditTotal()));
+        }
+    }
+
+    private record DailyUsage(LocalDate date, Map<Long, Usage> accounts) {
+        DailyUsage(LocalDate date){
+            this(date, new ConcurrentHashMap<>());
+        }
+    }
+
+    private DailyUsage currentDay(){
+        LocalDate today = LocalDate.now();
+        DailyUsage current = usageOfDay.get();
+        while(!current.date().equals(today)){
+            DailyUsage next = new DailyUsage(today);
+            if(usageOfDay.compareAndSet(current, next)) return next;
+            current = usageOfDay.get();
+        }
+        return current;
+    }
+
+    private Usage ensureUsageRow(DailyUsage day, Long accountId){
+        Usage cached = day.accounts().get(accountId);
+        if(cached != null) return cached;
+
+        AccountDailyLimitId id = new AccountDailyLimitId(accountId, day.date());
+        AccountDailyLimit row = limitRepository.findById(id).orElse(null);
+        if(row == null){
+            BigDecimal debitTotal = transactionRepository.sumFromAccountSince(accountId, day.date().atStartOfDay(),
+                    TransactionStatus.SUCCESS, DEBIT_TYPES);
+            BigDecimal creditTotal = transactionRepository.sumToAccountSince(accountId, day.date().atStartOfDay(),
+                    TransactionStatus.SUCCESS, CREDIT_TYPES);
+            limitRepository.insertIfAbsent(accountId, day.date(), debitTotal, creditTotal);
+            row = limitRepository.findById(id).orElseThrow();
+        }
+
+        Usage usage = new Usage(row.getDebitTotal(), row.getCreditTotal());
+        remember(day, accountId, usage, true);
+        return usage;
+    }
+
+    // Committed totals only grow during a day (a release always undoes a reservation of the same
+    // transaction), so after commit the cache keeps the largest total the database returned.
+    private void remember(DailyUsage day, Long accountId, Usage usage, boolean seed){
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            day.accounts().merge(accountId, usage, Usage::max);
+            return;
+        }
+
+        Map<Long, Usage> pending = pendingTotals(day);
+        if(seed) pending.putIfAbsent(accountId, usage);
+        else pending.put(accountId, usage);
+    }
+
+    private void remember(DailyUsage day, Long accountId, AccountDailyLimitRepository.Totals totals){
+        remember(day, accountId, new Usage(totals.getDebitTotal(), totals.getCreditTotal()), false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Usage> pendingTotals(DailyUsage day){
+        Map<Long, Usage> pending = (Map<Long, Usage>) TransactionSynchronizationManager.getResource(this);
+        if(pending != null) return pending;
+
+        Map<Long, Usage> totals = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, totals);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                totals.forEach((accountId, usage) -> day.accounts().merge(accountId, usage, Usage::max));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DailyLimitService.this);
+            }
+        });
+        return totals;
+    }
+
+    public boolean tryDebit(Long accountId, BigDecimal amount){
+        DailyUsage day = currentDay();
+        Usage usage = ensureUsageRow(day, accountId);
+        if(usage.debitTotal().add(amount).compareTo(DAILY_LIMIT) > 0) return false;
+
+        Optional<AccountDailyLimitRepository.Totals> totals = limitRepository.reserveDebit(accountId, day.date(), amount, DAILY_LIMIT);
+        totals.ifPresent(reserved -> remember(day, accountId, reserved));
+        return totals.isPresent();
+    }
+
+    public void releaseDebit(Long accountId, BigDecimal amount){
+        DailyUsage day = currentDay();
+        limitRepository.addDebit(accountId, day.date(), amount.negate())
+                .ifPresent(released -> remember(day, accountId, released));
+    }
+
+    public boolean tryCredit(Long accountId, BigDecimal amount){
+        DailyUsage day = currentDay();
+        Usage usage = ensureUsageRow(day, accountId);
+        if(usage.creditTotal().add(amount).compareTo(DAILY_LIMIT) > 0) return false;
+
+        Optional<AccountDailyLimitRepository.Totals> totals = limitRepository.reserveCredit(accountId, day.date(), amount, DAILY_LIMIT);
+        totals.ifPresent(reserved -> remember(day, accountId, reserved));
+        return totals.isPresent();
+    }
+
+    public BigDecimal remainingDebit(Long accountId){
+        DailyUsage day = currentDay();
+        ensureUsageRow(day, accountId);
+        AccountDailyLimit row = limitRepository.findById(new AccountDailyLimitId(accountId, day.date())).orElseThrow();
+        return DAILY_LIMIT.subtract(row.getDebitTotal());
+    }
+
+    public void recordDebit(Long accountId, BigDecimal amount){
+        DailyUsage day = currentDay();
+        ensureUsageRow(day, accountId);
+        limitRepository.addDebit(accountId, day.date(), amount)
+                .ifPresent(recorded -> remember(day, accountId, recorded));
+    }
+
+    public void recordCredit(Long accountId, BigDecimal amount){
+        DailyUsage day = currentDay();
+        ensureUsageRow(day, accountId);
+        limitRepository.addCredit(accountId, day.date(), amount)
+                .ifPresent(recorded -> remember(day, accountId, recorded));
+    }
+}
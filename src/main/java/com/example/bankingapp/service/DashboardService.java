@@ -0,0 +1,75 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.dto.customer.CustomerDashboardDTO;
+import com.example.bankingapp.dto.customer.DashboardAccountRow;
+import com.example.bankingapp.dto.customer.DashboardLoanRow;
+import com.example.bankingapp.dto.principal.CustomerPrincipal;
+import com.example.bankingapp.entities.customer.CustomerSummary;
+import com.example.bankingapp.entities.loan.Loan;
+import com.example.bankingapp.entities.loan.LoanStatus;
+import com.example.bankingapp.exception.CustomerNotFoundException;
+import com.example.bankingapp.repository.AccountRepository;
+import com.example.bankingapp.repository.CustomerSummaryRepository;
+import com.example.bankingapp.repository.LoanRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class DashboardService {
+    private static final Set<LoanStatus> ACTIVE_LOAN_STATUSES = EnumSet.of(LoanStatus.DISBURSED, LoanStatus.DEFAULTED);
+
+    private final AccountRepository accountRepository;
+    private final LoanRepository loanRepository;
+    private final CustomerSummaryRepository customerSummaryRepository;
+    private final PrincipalResolver principalResolver;
+
+    public DashboardService(AccountRepository accountRepository,
+                            LoanRepository loanRepository,
+                            CustomerSummaryRepository customerSummaryRepository,
+                            PrincipalResolver principalResolver){
+        this.accountRepository = accountRepository;
+        this.loanRepository = loanRepository;
+        this.customerSummaryRepository = customerSummaryRepository;
+        this.principalResolver = principalResolver;
+    }
+
+    @Transactional(readOnly = true)
+    public CustomerDashboardDTO getDashboard(String username){
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(() -> new CustomerNotFoundException("The customer with the username " + username + " not found."));
+
+        List<DashboardAccountRow> accounts = accountRepository.findDashboardRowsByCustomerId(customer.id());
+        List<DashboardLoanRow> loans = withSnapshots(loanRepository.findDashboardRowsByCustomerId(customer.id(),
+                ACTIVE_LOAN_STATUSES));
+        int unread = customerSummaryRepository.findById(customer.id())
+                .map(CustomerSummary::getUnreadNotifications)
+                .orElse(0);
+
+        return new CustomerDashboardDTO(customer.id(), customer.name(), accounts, loans, unread);
+    }
+
+    private List<DashboardLoanRow> withSnapshots(List<DashboardLoanRow> rows){
+        List<Long> stale = rows.stream()
+                .filter(row -> row.outstandingAmount() == null || row.emi() == null)
+                .map(DashboardLoanRow::loanId)
+                .toList();
+        if(stale.isEmpty()) return rows;
+
+        Map<Long, Loan> loans = loanRepository.findAllById(stale).stream()
+                .collect(Collectors.toMap(Loan::getId, Function.identity()));
+        return rows.stream().map(row -> {
+            Loan loan = loans.get(row.loanId());
+            if(loan == null || loan.getDateOfIssuance() == null) return row;
+            BigDecimal outstanding = row.outstandingAmount() != null ? row.outstandingAmount() : loan.getOutstandingAmount();
+            BigDecimal emi = row.emi() != null ? row.emi() : loan.calculateEMI();
+            return new DashboardLoanRow(row.loanId(), row.accountId(), row.loanType(), row.loanStatus(), outstanding, emi);
+        }).toList();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bankingapp.service;
 
 import com.example.bankingapp.dto.employee.EmployeeResponseDTO;
 import com.example.bankingapp.dto.loan.LoanResponseDTO;
+import com.example.bankingapp.dto.principal.EmployeePrincipal;
 import com.example.bankingapp.dto.transaction.TransactionResponseDTO;
 import com.example.bankingapp.entities.account.Account;
 import com.example.bankingapp.entities.account.AccountStatus;
@@ -9,7 +10,7 @@ import com.example.bankingapp.entities.employee.Employee;
 import com.example.bankingapp.entities.employee.EmployeeStatus;
 import com.example.bankingapp.entities.loan.Loan;
 import com.example.bankingapp.entities.loan.LoanStatus;
-import com.example.bankingapp.entities.notification.NotificationType;
+import com.example.bankingapp.entities.notification.NotificationEventType;
 import com.example.bankingapp.entities.transaction.Transaction;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
 import com.example.bankingapp.entities.transaction.TransactionType;
@@ -25,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 @Service
 public class EmployeeService {
@@ -33,18 +35,30 @@ public class EmployeeService {
     private final TransactionRepository transactionRepository;
     private final NotificationService notificationService;
     private final AccountRepository accountRepository;
+    private final DailyLimitService dailyLimitService;
+    private final LedgerService ledgerService;
+    private final PrincipalResolver principalResolver;
+    private final OperationMetrics operationMetrics;
 
     @Autowired
     public EmployeeService(EmployeeRepository employeeRepository,
                            LoanRepository loanRepository,
                            TransactionRepository transactionRepository,
                            NotificationService notificationService,
-                           AccountRepository accountRepository) {
+                           AccountRepository accountRepository,
+                           DailyLimitService dailyLimitService,
+                           LedgerService ledgerService,
+                           PrincipalResolver principalResolver,
+                           OperationMetrics operationMetrics) {
         this.employeeRepository = employeeRepository;
         this.loanRepository = loanRepository;
         this.transactionRepository = transactionRepository;
         this.accountRepository = accountRepository;
         this.notificationService = notificationService;
+        this.dailyLimitService = dailyLimitService;
+        this.ledgerService = ledgerService;
+        this.principalResolver = principalResolver;
+        this.operationMetrics = operationMetrics;
     }
 
     private EmployeeResponseDTO mapEmployeeToDTO(Employee employee) {
@@ -63,9 +77,17 @@ public class EmployeeService {
     }
 
     private Employee validateEmployee(String username) {
-        Employee employee = employeeRepository.findByUsername(username).orElseThrow(EmployeeNotFoundException::new);
-        if (!employee.getEmployeeStatus().equals(EmployeeStatus.ACTIVE)) throw new EmployeeInactiveException();
-        return employee;
+        return validateEmployee(principalResolver.findEmployee(username));
+    }
+
+    private Employee validateCurrentEmployee(String username) {
+        return validateEmployee(principalResolver.findCurrentEmployee(username));
+    }
+
+    private Employee validateEmployee(Optional<EmployeePrincipal> principal) {
+        EmployeePrincipal employee = principal.orElseThrow(EmployeeNotFoundException::new);
+        if (!employee.employeeStatus().equals(EmployeeStatus.ACTIVE)) throw new EmployeeInactiveException();
+        return employeeRepository.getReferenceById(employee.id());
     }
 
     private Transaction getTransaction(BigDecimal fund, Account account){
@@ -89,7 +111,7 @@ public class EmployeeService {
     }
 
     public LoanResponseDTO processLoan(Long loanId, String action, String username){
-        Employee employee = validateEmployee(username);
+        Employee employee = validateCurrentEmployee(username);
 
         Loan loan = loanRepository.findById(loanId).orElseThrow(LoanNotFoundException::new);
 
@@ -111,9 +133,8 @@ public class EmployeeService {
         return new LoanResponseDTO(loan);
     }
 
-    @Transactional
-    public TransactionResponseDTO disburseLoan(Long loanId, String username){
-        Employee employee = validateEmployee(username);
+    private TransactionResponseDTO disburse(Long loanId, String username){
+        Employee employee = validateCurrentEmployee(username);
 
         Loan loan = loanRepository.findById(loanId).orElseThrow(LoanNotFoundException::new);
 
@@ -128,28 +149,25 @@ public class EmployeeService {
 
         Transaction transaction = getTransaction(loan.getPrincipalAmount(), account);
         transaction.setTransactionType(TransactionType.LOAN_DISBURSEMENT);
-        employee.addHandledTransaction(transaction);
+        transaction.setHandledBy(employee);
 
-        account.deposit(loan.getPrincipalAmount());
+        if(!ledgerService.credit(account, loan.getPrincipalAmount()))
+            throw new AccountNotActiveException("Account is not active.");
+        dailyLimitService.recordCredit(account.getId(), loan.getPrincipalAmount());
         transaction.setTransactionStatus(TransactionStatus.SUCCESS);
         transaction.setFailureReason(null);
+        transaction.setToBalanceAfter(account.getBalance());
         transaction.setLoan(loan);
 
-        String message = "Dear " + account.getCustomer().getName() +
-                ", we are pleased to inform you that your loan (ID: " + loan.getId() +
-                ") for " + loan.getPrincipalAmount() +
-                " has been credited to your account (A/C " + account.getId() +
-                ") on " + transaction.getDateOfTransaction() + ".";
-
         loan.setLoanStatus(LoanStatus.DISBURSED);
 
         transactionRepository.save(transaction);
-        accountRepository.save(account);
-        employeeRepository.save(employee);
 
-        notificationService.createNotification(account.getCustomer(), NotificationType.TRANSACTION, message);
+        notificationService.publishLoanEvent(NotificationEventType.LOAN_DISBURSED, loan, loan.getPrincipalAmount(),
+                null, transaction.getDateOfTransaction());
 
         loan.setDateOfIssuance(LocalDate.now());
+        loan.refreshSnapshot();
         loanRepository.save(loan);
 
         TransactionResponseDTO dto = new TransactionResponseDTO(transaction, null);
@@ -160,4 +178,10 @@ public class EmployeeService {
         return dto;
     }
 
+    @Transactional
+    public TransactionResponseDTO disburseLoan(Long loanId, String username){
+        return operationMetrics.record("loan.disburse", () -> disburse(loanId, username),
+                OperationMetrics.Outcome::of);
+    }
+
 }
@@ -0,0 +1,248 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.dto.transaction.TransactionResponseDTO;
+import com.example.bankingapp.entities.idempotency.IdempotencyRecord;
+import com.example.bankingapp.entities.idempotency.IdempotencyRecordId;
+import com.example.bankingapp.entities.idempotency.IdempotencyStatus;
+import com.example.bankingapp.exception.IdempotencyKeyReusedException;
+import com.example.bankingapp.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyService {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_WINDOW_ENTRIES = 10_000;
+    private static final TypeReference<TransactionResponseDTO> TRANSACTION_RESPONSE = new TypeReference<>() {};
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration window;
+    private final Duration retention;
+    private final Map<IdempotencyRecordId, Completed> completed = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${banking.idempotency.window-seconds:600}") long windowSeconds,
+                              @Value("${banking.idempotency.retention-hours:24}") long retentionHours){
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.window = Duration.ofSeconds(windowSeconds);
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    private record Completed(String fingerprint, Object response, LocalDateTime expiresAt) {}
+
+    public record Execution<T>(T response, boolean replayed) {
+        public HttpHeaders headers(){
+            HttpHeaders headers = new HttpHeaders();
+            if(replayed) headers.set(REPLAYED_HEADER, "true");
+            return headers;
+        }
+    }
+
+    public static String fingerprint(String operation, Object... fields){
+        StringBuilder request = new StringBuilder(operation);
+        for(Object field : fields){
+            request.append('|').append(field instanceof BigDecimal amount ? amount.stripTrailingZeros().toPlainString() : field);
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(request.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // One bulk request split into chunks that each commit in their own transaction.
+    public interface Chunks<T> {
+        int count();
+
+        List<T> settle(int index);
+
+        List<T> failed(int index);
+    }
+
+    public Execution<TransactionResponseDTO> execute(String idempotencyKey, String principal, String operation, String fingerprint,
+                                                     Supplier<TransactionResponseDTO> action){
+        return execute(idempotencyKey, principal, operation, fingerprint, TRANSACTION_RESPONSE, action);
+    }
+
+    public <T> Execution<T> execute(String idempotencyKey, String principal, String operation, String fingerprint,
+                                    TypeReference<T> responseType, Supplier<T> action){
+        if(idempotencyKey == null) return new Execution<>(action.get(), false);
+        checkKey(idempotencyKey);
+
+        IdempotencyRecordId id = new IdempotencyRecordId(principal, idempotencyKey);
+        Completed hot = completed.get(id);
+        if(hot != null && hot.expiresAt().isAfter(LocalDateTime.now())){
+            return replay(hot.fingerprint(), fingerprint, hot.response());
+        }
+
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if(idempotencyRecordRepository.insertIfAbsent(principal, idempotencyKey, operation, fingerprint,
+                    IdempotencyStatus.COMPLETED.name(), now) == 0){
+                IdempotencyRecord record = idempotencyRecordRepository.findById(id).orElseThrow();
+                T response = read(record.getResponse(), responseType);
+                remember(id, record.getRequestFingerprint(), response);
+                return replay(record.getRequestFingerprint(), fingerprint, response);
+            }
+
+            T response = action.get();
+            idempotencyRecordRepository.storeResponse(principal, idempotencyKey, write(response));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(id, fingerprint, response);
+                }
+            });
+            return new Execution<>(response, false);
+        });
+    }
+
+    public <T> Execution<List<T>> executeChunked(String idempotencyKey, String principal, String operation, String fingerprint,
+                                                 TypeReference<List<T>> chunkType, Chunks<T> chunks){
+        IdempotencyRecordId id = null;
+        Map<Integer, List<T>> stored = Map.of();
+        if(idempotencyKey != null){
+            checkKey(idempotencyKey);
+            id = new IdempotencyRecordId(principal, idempotencyKey);
+            Completed hot = completed.get(id);
+            if(hot != null && hot.expiresAt().isAfter(LocalDateTime.now())){
+                return replay(hot.fingerprint(), fingerprint, hot.response());
+            }
+            stored = begin(id, operation, fingerprint, chunkType);
+        }
+
+        List<T> response = new ArrayList<>();
+        boolean complete = true;
+        for(int index = 0; index < chunks.count(); index++){
+            List<T> results = stored.get(index);
+            if(results == null) results = settleChunk(id, index, chunks, chunkType);
+            if(results == null){
+                results = chunks.failed(index);
+                complete = false;
+            }
+            response.addAll(results);
+        }
+        if(id == null) return new Execution<>(response, false);
+
+        if(complete){
+            IdempotencyRecordId recordId = id;
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.updateStatus(
+                    recordId.getPrincipal(), recordId.getIdempotencyKey(), IdempotencyStatus.COMPLETED));
+            remember(id, fingerprint, response);
+        }
+        return new Execution<>(response, stored.size() == chunks.count());
+    }
+
+    @Scheduled(cron = "${banking.idempotency.purge-cron:0 20 * * * *}")
+    public void purgeExpiredKeys(){
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteCreatedBefore(before));
+        completed.values().removeIf(entry -> !entry.expiresAt().isAfter(LocalDateTime.now()));
+        log.info("Purged {} idempotency keys created before {}.", purged, before);
+    }
+
+    private void checkKey(String idempotencyKey){
+        if(idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH){
+            throw new IllegalArgumentException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+    }
+
+    private <T> Map<Integer, List<T>> begin(IdempotencyRecordId id, String operation, String fingerprint,
+                                            TypeReference<List<T>> chunkType){
+        return transactionTemplate.execute(status -> {
+            if(idempotencyRecordRepository.insertIfAbsent(id.getPrincipal(), id.getIdempotencyKey(), operation, fingerprint,
+                    IdempotencyStatus.IN_PROGRESS.name(), LocalDateTime.now()) == 1){
+                return Map.of();
+            }
+            IdempotencyRecord record = idempotencyRecordRepository.findById(id).orElseThrow();
+            if(!record.getRequestFingerprint().equals(fingerprint)) throw new IdempotencyKeyReusedException();
+            return storedChunks(id, chunkType);
+        });
+    }
+
+    private <T> List<T> settleChunk(IdempotencyRecordId id, int index, Chunks<T> chunks, TypeReference<List<T>> chunkType){
+        try {
+            return transactionTemplate.execute(status -> {
+                if(id != null) idempotencyRecordRepository.claimChunk(id.getPrincipal(), id.getIdempotencyKey(), index);
+                List<T> results = chunks.settle(index);
+                if(id != null) idempotencyRecordRepository.storeChunk(id.getPrincipal(), id.getIdempotencyKey(), index, write(results));
+                return results;
+            });
+        } catch (RuntimeException e) {
+            // A concurrent retry that claimed the same chunk first makes the claim fail once it commits.
+            List<T> settled = id == null ? null : storedChunks(id, chunkType).get(index);
+            if(settled == null) log.warn("Chunk {} was rolled back.", index, e);
+            return settled;
+        }
+    }
+
+    private <T> Map<Integer, List<T>> storedChunks(IdempotencyRecordId id, TypeReference<List<T>> chunkType){
+        Map<Integer, List<T>> chunks = new HashMap<>();
+        for(IdempotencyRecordRepository.StoredChunk chunk : idempotencyRecordRepository.findChunks(id.getPrincipal(), id.getIdempotencyKey())){
+            chunks.put(chunk.getChunkIndex(), read(chunk.getResponse(), chunkType));
+        }
+        return chunks;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Execution<T> replay(String storedFingerprint, String fingerprint, Object response){
+        if(!storedFingerprint.equals(fingerprint)) throw new IdempotencyKeyReusedException();
+        return new Execution<>((T) response, true);
+    }
+
+    private void remember(IdempotencyRecordId id, String fingerprint, Object response){
+        if(completed.size() >= MAX_WINDOW_ENTRIES) completed.clear();
+        completed.put(id, new Completed(fingerprint, response, LocalDateTime.now().plus(window)));
+    }
+
+    private String write(Object response){
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store idempotent response.", e);
+        }
+    }
+
+    private <T> T read(String response, TypeReference<T> responseType){
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read idempotent response.", e);
+        }
+    }
+}
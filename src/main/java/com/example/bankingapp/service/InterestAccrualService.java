@@ -0,0 +1,209 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.dto.account.InterestPosting;
+import com.example.bankingapp.entities.account.AccountType;
+import com.example.bankingapp.entities.account.InterestRunCheckpoint;
+import com.example.bankingapp.entities.account.InterestRunCheckpointId;
+import com.example.bankingapp.entities.account.InterestRunType;
+import com.example.bankingapp.entities.transaction.Transaction;
+import com.example.bankingapp.entities.transaction.TransactionStatus;
+import com.example.bankingapp.entities.transaction.TransactionType;
+import com.example.bankingapp.repository.AccountRepository;
+import com.example.bankingapp.repository.InterestAccrualRepository;
+import com.example.bankingapp.repository.InterestRunCheckpointRepository;
+import com.example.bankingapp.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+@Service
+public class InterestAccrualService {
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrualService.class);
+    private static final long CHUNK_IDS = 1_000;
+    private static final BigDecimal PERCENT_DAYS_IN_YEAR = BigDecimal.valueOf(100 * 365);
+
+    private final AccountRepository accountRepository;
+    private final InterestAccrualRepository interestAccrualRepository;
+    private final InterestRunCheckpointRepository checkpointRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long partitionSize;
+    private final int parallelism;
+
+    public InterestAccrualService(AccountRepository accountRepository,
+                                  InterestAccrualRepository interestAccrualRepository,
+                                  InterestRunCheckpointRepository checkpointRepository,
+                                  TransactionRepository transactionRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${banking.interest.partition-size:100000}") long partitionSize,
+                                  @Value("${banking.interest.parallelism:4}") int parallelism){
+        this.accountRepository = accountRepository;
+        this.interestAccrualRepository = interestAccrualRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionSize = partitionSize;
+        this.parallelism = parallelism;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWork {
+        int process(long fromId, long toId);
+    }
+
+    public static BigDecimal getRateOfInterest(AccountType type){
+        if(type.equals(AccountType.SAVINGS)) return BigDecimal.valueOf(3.50);
+        else if(type.equals(AccountType.FIXED_DEPOSIT)) return BigDecimal.valueOf(6.75);
+        else if(type.equals(AccountType.RECURRING_DEPOSIT)) return BigDecimal.valueOf(6.25);
+        else return BigDecimal.ZERO;
+    }
+
+    @Scheduled(cron = "${banking.interest.cron:0 30 0 * * *}")
+    public void runNightly(){
+        LocalDate day = LocalDate.now().minusDays(1);
+        accrue(day);
+        if(day.equals(day.with(TemporalAdjusters.lastDayOfMonth()))) post(YearMonth.from(day));
+    }
+
+    public long accrue(LocalDate date){
+        long accrued = run(InterestRunType.ACCRUAL, date, accrual(date));
+        log.info("Accrued interest for {} on {} accounts.", date, accrued);
+        return accrued;
+    }
+
+    public long accrue(LocalDate date, long firstAccountId, long lastAccountId){
+        long accrued = runRange(firstAccountId - 1, lastAccountId, accrual(date));
+        log.info("Accrued interest for {} on {} accounts with ids {} to {}.", date, accrued, firstAccountId, lastAccountId);
+        return accrued;
+    }
+
+    public long post(YearMonth month){
+        LocalDate periodEnd = month.atEndOfMonth();
+        long posted = run(InterestRunType.POSTING, periodEnd, (fromId, toId) -> post(fromId, toId, periodEnd));
+        log.info("Posted interest for {} to {} accounts.", month, posted);
+        return posted;
+    }
+
+    public long post(YearMonth month, long firstAccountId, long lastAccountId){
+        LocalDate periodEnd = month.atEndOfMonth();
+        long posted = runRange(firstAccountId - 1, lastAccountId, (fromId, toId) -> post(fromId, toId, periodEnd));
+        log.info("Posted interest for {} to {} accounts with ids {} to {}.", month, posted, firstAccountId, lastAccountId);
+        return posted;
+    }
+
+    private ChunkWork accrual(LocalDate date){
+        Map<AccountType, BigDecimal> dailyRates = new EnumMap<>(AccountType.class);
+        for(AccountType type : AccountType.values()){
+            BigDecimal rate = getRateOfInterest(type);
+            if(rate.signum() > 0) dailyRates.put(type, rate.divide(PERCENT_DAYS_IN_YEAR, 12, RoundingMode.HALF_EVEN));
+        }
+        return (fromId, toId) -> {
+            int accounts = 0;
+            for(Map.Entry<AccountType, BigDecimal> rate : dailyRates.entrySet()){
+                accounts += interestAccrualRepository.accrue(fromId, toId, rate.getKey().name(), rate.getValue(), date);
+            }
+            return accounts;
+        };
+    }
+
+    private int post(long fromId, long toId, LocalDate periodEnd){
+        List<InterestPosting> postings = interestAccrualRepository.post(fromId, toId, periodEnd);
+        if(postings.isEmpty()) return 0;
+
+        LocalDateTime postedAt = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>(postings.size());
+        for(InterestPosting posting : postings){
+            Transaction transaction = new Transaction();
+            transaction.setDateOfTransaction(postedAt);
+            transaction.setAmount(posting.getAmount());
+            transaction.setToAccount(accountRepository.getReferenceById(posting.getAccountId()));
+            transaction.setTransactionType(TransactionType.INTEREST);
+            transaction.setTransactionStatus(TransactionStatus.SUCCESS);
+            transaction.setToBalanceAfter(posting.getBalanceAfter());
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+        return transactions.size();
+    }
+
+    private long run(InterestRunType runType, LocalDate runDate, ChunkWork work){
+        Optional<Long> minId = accountRepository.findMinId();
+        Optional<Long> maxId = accountRepository.findMaxId();
+        if(minId.isEmpty() || maxId.isEmpty()) return 0;
+
+        List<Callable<Long>> partitions = new ArrayList<>();
+        for(long start = Math.floorDiv(minId.get() - 1, partitionSize) * partitionSize; start < maxId.get(); start += partitionSize){
+            long partitionStart = start;
+            long partitionEnd = start + partitionSize;
+            partitions.add(() -> runPartition(runType, runDate, partitionStart, partitionEnd, work));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long processed = 0;
+            for(Future<Long> partition : pool.invokeAll(partitions)){
+                processed += partition.get();
+            }
+            return processed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(runType + " run for " + runDate + " was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(runType + " run for " + runDate + " failed. Rerun it to resume from the last checkpoint.", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private long runRange(long fromId, long toId, ChunkWork work){
+        long processed = 0;
+        for(long chunkFrom = fromId; chunkFrom < toId; chunkFrom += CHUNK_IDS){
+            long from = chunkFrom;
+            long to = Math.min(chunkFrom + CHUNK_IDS, toId);
+            Integer count = transactionTemplate.execute(status -> work.process(from, to));
+            processed += count != null ? count : 0;
+        }
+        return processed;
+    }
+
+    private long runPartition(InterestRunType runType, LocalDate runDate, long partitionStart, long partitionEnd, ChunkWork work){
+        InterestRunCheckpoint checkpoint = transactionTemplate.execute(status -> {
+            checkpointRepository.insertIfAbsent(runType.name(), runDate, partitionStart, partitionEnd, LocalDateTime.now());
+            return checkpointRepository.findById(new InterestRunCheckpointId(runType, runDate, partitionStart)).orElseThrow();
+        });
+        if(checkpoint == null || checkpoint.isCompleted()) return 0;
+
+        long processed = 0;
+        for(long fromId = checkpoint.getLastAccountId(); fromId < partitionEnd; fromId += CHUNK_IDS){
+            long chunkFrom = fromId;
+            long chunkTo = Math.min(fromId + CHUNK_IDS, partitionEnd);
+            Integer count = transactionTemplate.execute(status -> {
+                int chunk = work.process(chunkFrom, chunkTo);
+                checkpointRepository.advance(runType, runDate, partitionStart, chunkTo, chunkTo == partitionEnd, LocalDateTime.now());
+                return chunk;
+            });
+            processed += count != null ? count : 0;
+        }
+        return processed;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.entities.account.Account;
+import com.example.bankingapp.repository.AccountRepository;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@Service
+public class LedgerService {
+    private final AccountRepository accountRepository;
+
+    public LedgerService(AccountRepository accountRepository){
+        this.accountRepository = accountRepository;
+    }
+
+    public boolean debit(Account account, BigDecimal amount){
+        Optional<BigDecimal> balance = accountRepository.debitBalance(account.getId(), amount);
+        balance.ifPresent(account::setBalance);
+        return balance.isPresent();
+    }
+
+    public boolean credit(Account account, BigDecimal amount){
+        Optional<BigDecimal> balance = accountRepository.creditBalance(account.getId(), amount);
+        balance.ifPresent(account::setBalance);
+        return balance.isPresent();
+    }
+}
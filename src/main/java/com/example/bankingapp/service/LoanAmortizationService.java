@@ -0,0 +1,59 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.entities.loan.Loan;
+import com.example.bankingapp.entities.loan.LoanStatus;
+import com.example.bankingapp.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class LoanAmortizationService {
+    private static final Logger log = LoggerFactory.getLogger(LoanAmortizationService.class);
+    private static final int BATCH_SIZE = 200;
+
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public LoanAmortizationService(LoanRepository loanRepository,
+                                   PlatformTransactionManager transactionManager){
+        this.loanRepository = loanRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${banking.loans.amortization-cron:0 5 0 1 * *}")
+    public void rollForwardDisbursedLoans(){
+        rollForward(LocalDate.now());
+    }
+
+    public int rollForward(LocalDate date){
+        long afterId = 0L;
+        int processed = 0;
+        while(true){
+            long from = afterId;
+            List<Loan> loans = transactionTemplate.execute(status -> {
+                List<Loan> batch = loanRepository.findBatchForUpdate(LoanStatus.DISBURSED, from,
+                        PageRequest.ofSize(BATCH_SIZE));
+                batch.forEach(loan -> {
+                    loan.rollAmortizationForward(date);
+                    loan.refreshSnapshot();
+                });
+                return batch;
+            });
+            if(loans == null || loans.isEmpty()) break;
+
+            processed += loans.size();
+            afterId = loans.get(loans.size() - 1).getId();
+            if(loans.size() < BATCH_SIZE) break;
+        }
+        log.info("Rolled loan amortization forward to {} for {} loans.", date, processed);
+        return processed;
+    }
+}
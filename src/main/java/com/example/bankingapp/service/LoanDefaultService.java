@@ -0,0 +1,62 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.dto.loan.LoanDefaultRun;
+import com.example.bankingapp.repository.LoanRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class LoanDefaultService {
+    private static final Logger log = LoggerFactory.getLogger(LoanDefaultService.class);
+
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long graceDays;
+    private final Timer runTimer;
+    private final Counter scannedCounter;
+    private final Counter updatedCounter;
+    private final AtomicLong overdueLoans = new AtomicLong();
+
+    public LoanDefaultService(LoanRepository loanRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry registry,
+                              @Value("${banking.loans.default-grace-days:90}") long graceDays){
+        this.loanRepository = loanRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.graceDays = graceDays;
+        this.runTimer = Timer.builder("banking.loans.default.run").register(registry);
+        this.scannedCounter = Counter.builder("banking.loans.default.scanned").register(registry);
+        this.updatedCounter = Counter.builder("banking.loans.default.updated").register(registry);
+        registry.gauge("banking.loans.overdue", overdueLoans);
+    }
+
+    @Scheduled(cron = "${banking.loans.default-cron:0 15 1 * * *}")
+    public void markDefaultedLoans(){
+        markDefaulted(LocalDate.now());
+    }
+
+    public long markDefaulted(LocalDate today){
+        LocalDate defaultBefore = today.minusDays(graceDays);
+        LoanDefaultRun run = runTimer.record(() -> transactionTemplate.execute(status ->
+                loanRepository.markDefaulted(today, defaultBefore)));
+        if(run == null) return 0;
+
+        scannedCounter.increment(run.getScanned());
+        updatedCounter.increment(run.getUpdated());
+        overdueLoans.set(run.getScanned() - run.getUpdated());
+        log.info("Scanned {} overdue loans on {}, marked {} due before {} as defaulted.",
+                run.getScanned(), today, run.getUpdated(), defaultBefore);
+        return run.getUpdated();
+    }
+}
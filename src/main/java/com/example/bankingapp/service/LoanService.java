@@ -3,16 +3,18 @@ package com.example.bankingapp.service;
 import com.example.bankingapp.dto.loan.LoanRepaymentDTO;
 import com.example.bankingapp.dto.loan.LoanRequestDTO;
 import com.example.bankingapp.dto.loan.LoanResponseDTO;
+import com.example.bankingapp.dto.principal.CustomerPrincipal;
+import com.example.bankingapp.dto.principal.EmployeePrincipal;
 import com.example.bankingapp.dto.transaction.TransactionResponseDTO;
 import com.example.bankingapp.dto.transaction.TransactionSummaryDTO;
 import com.example.bankingapp.entities.account.Account;
 import com.example.bankingapp.entities.account.AccountStatus;
-import com.example.bankingapp.entities.customer.Customer;
 import com.example.bankingapp.entities.employee.Employee;
 import com.example.bankingapp.entities.employee.EmployeeStatus;
 import com.example.bankingapp.entities.loan.Loan;
 import com.example.bankingapp.entities.loan.LoanStatus;
 import com.example.bankingapp.entities.loan.LoanType;
+import com.example.bankingapp.entities.notification.NotificationEventType;
 import com.example.bankingapp.entities.notification.NotificationType;
 import com.example.bankingapp.entities.transaction.Transaction;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
@@ -21,6 +23,7 @@ import com.example.bankingapp.exception.*;
 import com.example.bankingapp.repository.*;
 import com.example.bankingapp.specification.LoanSpecification;
 import com.example.bankingapp.specification.TransactionSpecifications;
+import com.example.bankingapp.utils.PageLimits;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -28,6 +31,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -36,25 +40,34 @@ import java.time.LocalDateTime;
 @Service
 public class LoanService {
     private final LoanRepository loanRepository;
-    private final CustomerRepository customerRepository;
     private final AccountRepository accountRepository;
     private final NotificationService notificationService;
     private final TransactionRepository transactionRepostory;
     private final EmployeeRepository employeeRepository;
+    private final DailyLimitService dailyLimitService;
+    private final LedgerService ledgerService;
+    private final PrincipalResolver principalResolver;
+    private final OperationMetrics operationMetrics;
 
     @Autowired
     public LoanService(LoanRepository loanRepository,
                        AccountRepository accountRepository,
-                       CustomerRepository customerRepository,
                        EmployeeRepository employeeRepository,
                        NotificationService notificationService,
-                       TransactionRepository transactionRepository){
+                       TransactionRepository transactionRepository,
+                       DailyLimitService dailyLimitService,
+                       LedgerService ledgerService,
+                       PrincipalResolver principalResolver,
+                       OperationMetrics operationMetrics){
         this.loanRepository = loanRepository;
-        this.customerRepository = customerRepository;
         this.employeeRepository = employeeRepository;
         this.accountRepository = accountRepository;
         this.notificationService = notificationService;
         this.transactionRepostory = transactionRepository;
+        this.dailyLimitService = dailyLimitService;
+        this.ledgerService = ledgerService;
+        this.principalResolver = principalResolver;
+        this.operationMetrics = operationMetrics;
     }
 
     private void validateAccountAndLoan(Account account, LoanRequestDTO requestDTO){
@@ -76,16 +89,12 @@ public class LoanService {
 
     private Loan createLoan(LoanRequestDTO requestDTO, Account account){
         validateAccountAndLoan(account, requestDTO);
-        Loan loan = loanDTOToLoan(requestDTO);
-        account.addLoan(loan);
-
-        for(Loan l : account.getLoans()){
-            if(l.isOverdue()) {
-                throw new LoanOverdueException("You have an overdue loan! Cannot create a new loan.");
-            }
+        if(loanRepository.existsOverdueByAccountId(account.getId(), LocalDate.now())) {
+            throw new LoanOverdueException("You have an overdue loan! Cannot create a new loan.");
         }
 
-        accountRepository.save(account);
+        Loan loan = loanDTOToLoan(requestDTO);
+        loan.setAccount(account);
         loanRepository.save(loan);
 
         return loan;
@@ -93,7 +102,7 @@ public class LoanService {
 
     private Page<LoanResponseDTO> getAllLoans(int page, int size, LoanStatus status, LoanType type,
                                               LocalDate from, LocalDate to, Long customerId){
-        Pageable pageable = PageRequest.of(page, size, Sort.by("dateOfIssuance"));
+        Pageable pageable = PageRequest.of(page, PageLimits.checkSize(size), Sort.by("dateOfIssuance"));
         Specification<Loan> specification = LoanSpecification.forCustomer(customerId)
                 .and(LoanSpecification.withStatus(status))
                 .and(LoanSpecification.withType(type))
@@ -102,11 +111,12 @@ public class LoanService {
         return pageDTO.map(LoanResponseDTO::new);
     }
 
-    private TransactionResponseDTO repayLoan(LoanRepaymentDTO repaymentDTO, Customer customer){
-        Loan loan = loanRepository.findByIdWithTransactions(repaymentDTO.getLoanId())
+    private TransactionResponseDTO repayLoan(LoanRepaymentDTO repaymentDTO, CustomerPrincipal customer){
+        Loan loan = loanRepository.findByIdForUpdate(repaymentDTO.getLoanId())
                 .orElseThrow(LoanNotFoundException::new);
-        if(!loan.getAccount().getCustomer().getId().equals(customer.getId())) throw new LoanAccessDeniedException();
-        if(!loan.getLoanStatus().equals(LoanStatus.DISBURSED)) throw new LoanNotDisbursedException();
+        if(!loan.getAccount().getCustomer().getId().equals(customer.id())) throw new LoanAccessDeniedException();
+        if(!loan.getLoanStatus().equals(LoanStatus.DISBURSED) && !loan.getLoanStatus().equals(LoanStatus.DEFAULTED))
+            throw new LoanNotDisbursedException();
         if(repaymentDTO.getAmount() == null || repaymentDTO.getAmount().compareTo(BigDecimal.ZERO) <= 0)
             throw new AmountInvalidException("Repayment amount cannot be negative.");
 
@@ -120,52 +130,47 @@ public class LoanService {
         transaction.setLoan(loan);
 
         BigDecimal repayAmount = repaymentDTO.getAmount();
-        BigDecimal balance = account.getBalance();
         BigDecimal outstandingAmount = loan.getOutstandingAmount();
 
         System.out.println("Outstanding Amount: " + outstandingAmount);
-        String message = "";
-        if(balance.compareTo(repayAmount) < 0){
+        if (repayAmount.compareTo(outstandingAmount) > 0) {
             transaction.setTransactionStatus(TransactionStatus.FAILED);
-            String failure = "Insufficient balance!";
+            String failure = "You are paying more than required amount.";
             transaction.setFailureReason(failure);
         }
-        else if (repayAmount.compareTo(outstandingAmount) > 0) {
+        else if(!ledgerService.debit(account, repayAmount)){
             transaction.setTransactionStatus(TransactionStatus.FAILED);
-            String failure = "You are paying more than required amount.";
+            String failure = "Insufficient balance!";
             transaction.setFailureReason(failure);
         }
         else{
-            account.withdrawal(repayAmount);
+            dailyLimitService.recordDebit(account.getId(), repayAmount);
             transaction.setTransactionStatus(TransactionStatus.SUCCESS);
+            transaction.setFromBalanceAfter(account.getBalance());
             loan.addTransaction(transaction);
 
             BigDecimal newOutstanding = loan.getOutstandingAmount();
             if(newOutstanding.compareTo(BigDecimal.ONE) < 0) {
                 loan.setLoanStatus(LoanStatus.CLOSED);
-                message = "Dear " + customer.getName() + ", congratulations! Your loan has been fully repaid. " +
-                        "Final payment of " + repayAmount + " processed successfully on " +
-                        transaction.getDateOfTransaction().toLocalDate() + ".";
+                notificationService.publishLoanEvent(NotificationEventType.LOAN_CLOSED, loan, repayAmount,
+                        newOutstanding, transaction.getDateOfTransaction());
             } else {
-                message = "Dear " + customer.getName() + ", your repayment of " + repayAmount +
-                        " towards Loan ID " + loan.getId() + " has been successfully processed on " +
-                        transaction.getDateOfTransaction().toLocalDate() +
-                        ". Remaining outstanding balance: " + newOutstanding + ".";
+                notificationService.publishLoanEvent(NotificationEventType.LOAN_REPAID, loan, repayAmount,
+                        newOutstanding, transaction.getDateOfTransaction());
             }
+            loan.refreshSnapshot();
         }
 
-        if(!message.isEmpty()) notificationService.createNotification(customer, NotificationType.TRANSACTION, message);
         transactionRepostory.save(transaction);
         loanRepository.save(loan);
-        accountRepository.save(account);
 
         return new TransactionResponseDTO(transaction, customer);
     }
 
     private Employee validateEmployee(String username){
-        Employee employee = employeeRepository.findByUsername(username).orElseThrow(EmployeeNotFoundException::new);
-        if(!employee.getEmployeeStatus().equals(EmployeeStatus.ACTIVE)) throw new EmployeeInactiveException();
-        return employee;
+        EmployeePrincipal employee = principalResolver.findEmployee(username).orElseThrow(EmployeeNotFoundException::new);
+        if(!employee.employeeStatus().equals(EmployeeStatus.ACTIVE)) throw new EmployeeInactiveException();
+        return employeeRepository.getReferenceById(employee.id());
     }
 
     private BigDecimal getRateOfInterest(LoanType type){
@@ -179,31 +184,35 @@ public class LoanService {
     }
 
     public LoanResponseDTO createLoanByCustomer(LoanRequestDTO requestDTO, String username){
-        Customer customer = customerRepository.findByUsername(username).orElseThrow(CustomerNotFoundException::new);
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(CustomerNotFoundException::new);
         Account account = accountRepository.findById(requestDTO.getAccountId()).orElseThrow(AccountNotFoundException::new);
-        if(!account.getCustomer().getId().equals(customer.getId())) throw new AccountAccessDeniedException();
+        if(!account.getCustomer().getId().equals(customer.id())) throw new AccountAccessDeniedException();
         Loan loan = createLoan(requestDTO, account);
 
-        String message = "Dear " + customer.getName() + ", your loan application for account A/C "
+        String message = "Dear " + customer.name() + ", your loan application for account A/C "
                 + account.getId() + " has been submitted on " + LocalDateTime.now() + ".";
-        notificationService.createNotification(customer, NotificationType.ALERT, message);
+        notificationService.createNotification(customer.id(), NotificationType.ALERT, message);
         return new LoanResponseDTO(loan);
     }
 
     public Page<LoanResponseDTO> getAllLoansByCustomer(int page, int size, LoanStatus status, LoanType type,
                                                        LocalDate fromDate, LocalDate toDate, String username){
-        Customer customer = customerRepository.findByUsername(username).orElseThrow(CustomerNotFoundException::new);
-        return getAllLoans(page, size, status, type, fromDate, toDate, customer.getId());
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(CustomerNotFoundException::new);
+        return getAllLoans(page, size, status, type, fromDate, toDate, customer.id());
     }
 
+    @Transactional
     public TransactionResponseDTO repayLoan(LoanRepaymentDTO repaymentDTO, String username){
-        Customer customer = customerRepository.findByUsername(username).orElseThrow(CustomerNotFoundException::new);
-        return repayLoan(repaymentDTO, customer);
+        return operationMetrics.record("loan.repay", () -> {
+            CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(CustomerNotFoundException::new);
+            return repayLoan(repaymentDTO, customer);
+        }, OperationMetrics.Outcome::of);
     }
 
     public LoanResponseDTO getParticularLoan(Long loanId, String username){
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(CustomerNotFoundException::new);
         Loan loan = loanRepository.findById(loanId).orElseThrow(LoanNotFoundException::new);
-        if(!loan.getAccount().getCustomer().getUsername().equals(username))
+        if(!loan.getAccount().getCustomer().getId().equals(customer.id()))
             throw new LoanAccessDeniedException();
         return new LoanResponseDTO(loan);
     }
@@ -211,17 +220,17 @@ public class LoanService {
     public Page<TransactionSummaryDTO> getLoanTransactions(Long loanId, int page, int size, TransactionStatus status,
                                                             TransactionType type, LocalDate fromDate,
                                                             LocalDate toDate, String username){
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(CustomerNotFoundException::new);
         Loan loan = loanRepository.findById(loanId).orElseThrow(LoanNotFoundException::new);
-        if(!loan.getAccount().getCustomer().getUsername().equals(username)) throw new LoanAccessDeniedException();
-        Pageable pageable = PageRequest.of(page, size, Sort.by("dateOfTransaction"));
+        if(!loan.getAccount().getCustomer().getId().equals(customer.id())) throw new LoanAccessDeniedException();
+        Pageable pageable = PageRequest.of(page, PageLimits.checkSize(size), Sort.by("dateOfTransaction"));
         Specification<Transaction> spec = TransactionSpecifications.forLoan(loan)
                 .and(TransactionSpecifications.withStatus(status))
                 .and(TransactionSpecifications.withType(type))
                 .and(TransactionSpecifications.dateBetween(fromDate, toDate));
-        Page<Transaction> transactions = transactionRepostory.findAll(spec, pageable);
-        return transactions.map(
-                transaction -> new TransactionSummaryDTO(transaction, loan.getAccount().getCustomer())
-        );
+        Long customerId = loan.getAccount().getCustomer().getId();
+        return transactionRepostory.findSummaries(spec, pageable)
+                .map(view -> new TransactionSummaryDTO(view, customerId));
     }
 
     public LoanResponseDTO createLoanByEmployee(LoanRequestDTO requestDTO, Long accountId, String username){
@@ -252,21 +261,20 @@ public class LoanService {
                                                                      LocalDate toDate, String username){
         validateEmployee(username);
         Loan loan = loanRepository.findById(loanId).orElseThrow(LoanNotFoundException::new);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("dateOfTransaction"));
+        Pageable pageable = PageRequest.of(page, PageLimits.checkSize(size), Sort.by("dateOfTransaction"));
         Specification<Transaction> spec = TransactionSpecifications.forLoan(loan)
                 .and(TransactionSpecifications.withStatus(status))
                 .and(TransactionSpecifications.withType(type))
                 .and(TransactionSpecifications.dateBetween(fromDate, toDate));
-        Page<Transaction> transactions = transactionRepostory.findAll(spec, pageable);
-        return transactions.map(
-                transaction -> new TransactionSummaryDTO(transaction, loan.getAccount().getCustomer())
-        );
+        Long customerId = loan.getAccount().getCustomer().getId();
+        return transactionRepostory.findSummaries(spec, pageable)
+                .map(view -> new TransactionSummaryDTO(view, customerId));
     }
 
     public Page<LoanResponseDTO> getAllLoans(int page, int size, LoanStatus status, LoanType type,
                                                        LocalDate fromDate, LocalDate toDate, String username){
         validateEmployee(username);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("dateOfIssuance"));
+        Pageable pageable = PageRequest.of(page, PageLimits.checkSize(size), Sort.by("dateOfIssuance"));
         Specification<Loan> specification = LoanSpecification
                 .withStatus(status)
                 .and(LoanSpecification.withType(type))
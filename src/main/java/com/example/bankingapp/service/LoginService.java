@@ -3,31 +3,37 @@ package com.example.bankingapp.service;
 import com.example.bankingapp.Role;
 import com.example.bankingapp.dto.login.LoginRequestDTO;
 import com.example.bankingapp.dto.login.LoginResponseDTO;
-import com.example.bankingapp.entities.customer.Customer;
-import com.example.bankingapp.entities.employee.Employee;
+import com.example.bankingapp.dto.principal.UserCredential;
 import com.example.bankingapp.exception.InvalidCredentialsException;
+import com.example.bankingapp.repository.CredentialRepository;
 import com.example.bankingapp.repository.CustomerRepository;
 import com.example.bankingapp.repository.EmployeeRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class LoginService {
+    private final CredentialRepository credentialRepository;
     private final CustomerRepository customerRepository;
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
     private final TokenService tokenService;
+    private final PasswordVerificationExecutor verificationExecutor;
 
-    public LoginService(CustomerRepository customerRepository,
+    public LoginService(CredentialRepository credentialRepository,
+                        CustomerRepository customerRepository,
                         EmployeeRepository employeeRepository,
                         PasswordEncoder passwordEncoder,
-                        TokenService tokenService){
+                        TokenService tokenService,
+                        PasswordVerificationExecutor verificationExecutor){
+        this.credentialRepository = credentialRepository;
         this.customerRepository = customerRepository;
         this.employeeRepository = employeeRepository;
         this.passwordEncoder = passwordEncoder;
         this.tokenService = tokenService;
+        this.verificationExecutor = verificationExecutor;
     }
 
     private LoginResponseDTO buildResponse(String username, Role role){
@@ -41,22 +47,22 @@ public class LoginService {
         }
     }
 
-    public LoginResponseDTO loginUser(LoginRequestDTO loginRequestDTO){
+    private void rehashIfNeeded(UserCredential credential, String rawPassword){
+        if(!passwordEncoder.upgradeEncoding(credential.getPassword())) return;
 
-        Optional<Customer> customerOptional = customerRepository.findByUsername(loginRequestDTO.getUsername());
-        if(customerOptional.isPresent()){
-            Customer customer = customerOptional.get();
-            validatePassword(loginRequestDTO.getPassword(), customer.getPassword());
-            return buildResponse(customer.getUsername(), customer.getRole());
-        }
+        String rehashed = passwordEncoder.encode(rawPassword);
+        if(credential.getRole() == Role.EMPLOYEE) employeeRepository.updatePassword(credential.getId(), rehashed);
+        else customerRepository.updatePassword(credential.getId(), rehashed);
+    }
 
-        Optional<Employee> employeeOptional = employeeRepository.findByUsername(loginRequestDTO.getUsername());
-        if(employeeOptional.isPresent()){
-            Employee employee = employeeOptional.get();
-            validatePassword(loginRequestDTO.getPassword(), employee.getPassword());
-            return buildResponse(employee.getUsername(), employee.getRole());
-        }
+    public CompletableFuture<LoginResponseDTO> loginUser(LoginRequestDTO loginRequestDTO){
+        UserCredential credential = credentialRepository.findByUsername(loginRequestDTO.getUsername())
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid username or password"));
 
-        throw new InvalidCredentialsException("Invalid username or password");
+        return verificationExecutor.submit(() -> {
+            validatePassword(loginRequestDTO.getPassword(), credential.getPassword());
+            rehashIfNeeded(credential, loginRequestDTO.getPassword());
+            return buildResponse(credential.getUsername(), credential.getRole());
+        });
     }
 }
@@ -0,0 +1,173 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.entities.customer.Customer;
+import com.example.bankingapp.entities.notification.Notification;
+import com.example.bankingapp.entities.notification.NotificationEvent;
+import com.example.bankingapp.entities.notification.NotificationStatus;
+import com.example.bankingapp.entities.notification.NotificationType;
+import com.example.bankingapp.repository.CustomerRepository;
+import com.example.bankingapp.repository.CustomerSummaryRepository;
+import com.example.bankingapp.repository.NotificationEventRepository;
+import com.example.bankingapp.repository.NotificationRepository;
+import com.example.bankingapp.utils.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class NotificationDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+    private static final int BATCH_SIZE = 200;
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern(Constants.LocalDateTimePattern);
+
+    private final NotificationEventRepository eventRepository;
+    private final NotificationRepository notificationRepository;
+    private final CustomerRepository customerRepository;
+    private final CustomerSummaryRepository customerSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final ObjectProvider<JavaMailSender> mailSender;
+    private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+
+    public NotificationDispatcher(NotificationEventRepository eventRepository,
+                                  NotificationRepository notificationRepository,
+                                  CustomerRepository customerRepository,
+                                  CustomerSummaryRepository customerSummaryRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                                  ObjectProvider<JavaMailSender> mailSender){
+        this.eventRepository = eventRepository;
+        this.notificationRepository = notificationRepository;
+        this.customerRepository = customerRepository;
+        this.customerSummaryRepository = customerSummaryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.mailSender = mailSender;
+    }
+
+    private record Batch(int claimed, List<Notification> notifications) {}
+
+    public void requestDispatch(){
+        if(dispatchRequested.compareAndSet(false, true)){
+            taskExecutor.execute(() -> {
+                dispatchRequested.set(false);
+                try{
+                    dispatchPending();
+                } catch (RuntimeException e){
+                    log.warn("Notification dispatch failed, pending events will be retried.", e);
+                }
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.notifications.dispatch-interval-ms:5000}")
+    public void dispatchPending(){
+        Batch batch;
+        do{
+            batch = transactionTemplate.execute(status -> dispatchBatch());
+            if(batch == null) return;
+            sendMails(batch.notifications());
+        } while(batch.claimed() == BATCH_SIZE);
+    }
+
+    private Batch dispatchBatch(){
+        List<NotificationEvent> events = eventRepository.claimBatch(BATCH_SIZE);
+        if(events.isEmpty()) return new Batch(0, List.of());
+
+        Set<Long> customerIds = new HashSet<>();
+        for(NotificationEvent event : events){
+            customerIds.add(event.getCustomerId());
+            if(event.getCounterpartyCustomerId() != null) customerIds.add(event.getCounterpartyCustomerId());
+        }
+        Map<Long, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+
+        List<Notification> notifications = new ArrayList<>(events.size());
+        for(NotificationEvent event : events){
+            Customer customer = customers.get(event.getCustomerId());
+            if(customer == null) continue;
+
+            Notification notification = new Notification();
+            notification.setDate(event.getOccurredAt());
+            notification.setMessage(render(event, customer, customers.get(event.getCounterpartyCustomerId())));
+            notification.setNotificationType(NotificationType.TRANSACTION);
+            notification.setNotificationStatus(NotificationStatus.UNREAD);
+            notification.setCustomer(customer);
+            notifications.add(notification);
+        }
+
+        notificationRepository.saveAll(notifications);
+        if(!notifications.isEmpty()){
+            customerSummaryRepository.addUnread(notifications.stream().map(Notification::getId).toList(),
+                    LocalDateTime.now());
+        }
+        eventRepository.deleteAllByIdInBatch(events.stream().map(NotificationEvent::getId).toList());
+        return new Batch(events.size(), notifications);
+    }
+
+    private String render(NotificationEvent event, Customer customer, Customer counterparty){
+        String counterpartyName = counterparty == null ? "" : counterparty.getName();
+        return switch (event.getEventType()) {
+            case TRANSFER_DEBIT -> "Dear " + customer.getName() + ", " + event.getAmount() +
+                    " has been debited from your account A/C " + event.getAccountId() +
+                    " on " + event.getOccurredAt().format(DATE_TIME_FORMAT) + " towards " + counterpartyName + ".";
+            case TRANSFER_CREDIT -> "Dear " + customer.getName() + ", " + event.getAmount() +
+                    " has been credited to your account A/C " + event.getAccountId() +
+                    " on " + event.getOccurredAt().format(DATE_TIME_FORMAT) + " from " + counterpartyName + ".";
+            case DEPOSIT -> "Dear " + customer.getName() + ", A/C " + event.getAccountId() +
+                    " deposited with " + event.getAmount() + " on date " + event.getOccurredAt() + ".";
+            case WITHDRAWAL -> "Dear " + customer.getName() + ", A/C " + event.getAccountId() +
+                    " has a withdrawal of " + event.getAmount() + " on date " + event.getOccurredAt() + ".";
+            case LOAN_DISBURSED -> "Dear " + customer.getName() +
+                    ", we are pleased to inform you that your loan (ID: " + event.getLoanId() +
+                    ") for " + event.getAmount() +
+                    " has been credited to your account (A/C " + event.getAccountId() +
+                    ") on " + event.getOccurredAt() + ".";
+            case LOAN_REPAID -> "Dear " + customer.getName() + ", your repayment of " + event.getAmount() +
+                    " towards Loan ID " + event.getLoanId() + " has been successfully processed on " +
+                    event.getOccurredAt().toLocalDate() +
+                    ". Remaining outstanding balance: " + event.getOutstandingAmount() + ".";
+            case LOAN_CLOSED -> "Dear " + customer.getName() + ", congratulations! Your loan has been fully repaid. " +
+                    "Final payment of " + event.getAmount() + " processed successfully on " +
+                    event.getOccurredAt().toLocalDate() + ".";
+        };
+    }
+
+    private void sendMails(List<Notification> notifications){
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if(sender == null || notifications.isEmpty()) return;
+
+        SimpleMailMessage[] messages = notifications.stream()
+                .filter(notification -> notification.getCustomer().getEmail() != null)
+                .map(notification -> {
+                    SimpleMailMessage message = new SimpleMailMessage();
+                    message.setTo(notification.getCustomer().getEmail());
+                    message.setSubject("Banking notification");
+                    message.setText(notification.getMessage());
+                    return message;
+                })
+                .toArray(SimpleMailMessage[]::new);
+        try{
+            sender.send(messages);
+        } catch (MailException e){
+            log.warn("Failed to send {} notification mails.", messages.length, e);
+        }
+    }
+}
@@ -1,43 +1,97 @@
 package com.example.bankingapp.service;
 
+import com.example.bankingapp.dto.cursor.CursorSliceDTO;
 import com.example.bankingapp.dto.notification.NotificationResponseDTO;
+import com.example.bankingapp.dto.notification.ReadAllMode;
+import com.example.bankingapp.dto.notification.UnreadCountDTO;
+import com.example.bankingapp.dto.principal.CustomerPrincipal;
+import com.example.bankingapp.entities.account.Account;
 import com.example.bankingapp.entities.customer.Customer;
+import com.example.bankingapp.entities.customer.CustomerSummary;
+import com.example.bankingapp.entities.loan.Loan;
 import com.example.bankingapp.entities.notification.Notification;
+import com.example.bankingapp.entities.notification.NotificationEvent;
+import com.example.bankingapp.entities.notification.NotificationEventType;
 import com.example.bankingapp.entities.notification.NotificationStatus;
 import com.example.bankingapp.entities.notification.NotificationType;
+import com.example.bankingapp.entities.transaction.Transaction;
 import com.example.bankingapp.exception.CustomerNotFoundException;
 import com.example.bankingapp.exception.NotificationAccessDeniedException;
 import com.example.bankingapp.exception.NotificationNotFoundException;
 import com.example.bankingapp.repository.CustomerRepository;
+import com.example.bankingapp.repository.CustomerSummaryRepository;
+import com.example.bankingapp.repository.NotificationEventRepository;
 import com.example.bankingapp.repository.NotificationRepository;
 import com.example.bankingapp.specification.NotificationSpecifications;
+import com.example.bankingapp.utils.KeysetCursor;
+import com.example.bankingapp.utils.PageLimits;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final CustomerRepository customerRepository;
+    private final NotificationEventRepository notificationEventRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final CustomerSummaryRepository customerSummaryRepository;
+    private final PrincipalResolver principalResolver;
+    private final OperationMetrics operationMetrics;
 
     public NotificationService(NotificationRepository notificationRepository,
-                               CustomerRepository customerRepository){
+                               CustomerRepository customerRepository,
+                               NotificationEventRepository notificationEventRepository,
+                               NotificationDispatcher notificationDispatcher,
+                               CustomerSummaryRepository customerSummaryRepository,
+                               PrincipalResolver principalResolver,
+                               OperationMetrics operationMetrics){
         this.notificationRepository = notificationRepository;
         this.customerRepository = customerRepository;
+        this.notificationEventRepository = notificationEventRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.customerSummaryRepository = customerSummaryRepository;
+        this.principalResolver = principalResolver;
+        this.operationMetrics = operationMetrics;
     }
 
-    private NotificationResponseDTO notificationToDTO(Notification notification){
+    private void publish(List<NotificationEvent> events){
+        notificationEventRepository.saveAll(events);
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notificationDispatcher.requestDispatch();
+                }
+            });
+        }
+        else notificationDispatcher.requestDispatch();
+    }
+
+    private LocalDateTime getLastReadAt(Long customerId){
+        return customerSummaryRepository.findById(customerId).map(CustomerSummary::getLastReadAt).orElse(null);
+    }
+
+    private NotificationResponseDTO notificationToDTO(Notification notification, LocalDateTime lastReadAt){
         NotificationResponseDTO responseDTO = new NotificationResponseDTO();
         responseDTO.setNotificationId(notification.getId());
         responseDTO.setDate(notification.getDate());
-        responseDTO.setNotificationStatus(notification.getNotificationStatus());
+        responseDTO.setNotificationStatus(lastReadAt != null && !notification.getCreatedAt().isAfter(lastReadAt)
+                ? NotificationStatus.READ : notification.getNotificationStatus());
         responseDTO.setNotificationType(notification.getNotificationType());
         responseDTO.setMessage(notification.getMessage());
 
@@ -47,46 +101,157 @@ public class NotificationService {
     public Page<NotificationResponseDTO> getAllNotifications(int page, int size, NotificationStatus status,
                                                              NotificationType type, LocalDate fromDate,
                                                              LocalDate toDate, String username){
-        Customer customer = customerRepository.findByUsername(username).orElseThrow(() -> new CustomerNotFoundException("The customer with the username " + username + " not found."));
-        Specification<Notification> specification = NotificationSpecifications.forCustomer(customer)
-                .and(NotificationSpecifications.withStatus(status))
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(() -> new CustomerNotFoundException("The customer with the username " + username + " not found."));
+        LocalDateTime lastReadAt = getLastReadAt(customer.id());
+        Specification<Notification> specification = NotificationSpecifications.forCustomer(customer.id())
+                .and(NotificationSpecifications.withStatus(status, lastReadAt))
                 .and(NotificationSpecifications.withType(type))
                 .and(NotificationSpecifications.withDate(fromDate, toDate));
-        Pageable pageable = PageRequest.of(page, size, Sort.by("date").descending());
+        Pageable pageable = PageRequest.of(page, PageLimits.checkSize(size), Sort.by("date").descending());
         Page<Notification> notifications = notificationRepository.findAll(specification, pageable);
 
-        return notifications.map(this::notificationToDTO);
+        return notifications.map(notification -> notificationToDTO(notification, lastReadAt));
     }
 
+    public CursorSliceDTO<NotificationResponseDTO> getNotificationSlice(String cursor, int size, NotificationStatus status,
+                                                                       NotificationType type, LocalDate fromDate,
+                                                                       LocalDate toDate, String username){
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(() -> new CustomerNotFoundException("The customer with the username " + username + " not found."));
+        LocalDateTime lastReadAt = getLastReadAt(customer.id());
+        Specification<Notification> specification = NotificationSpecifications.forCustomer(customer.id())
+                .and(NotificationSpecifications.withStatus(status, lastReadAt))
+                .and(NotificationSpecifications.withType(type))
+                .and(NotificationSpecifications.withDate(fromDate, toDate))
+                .and(NotificationSpecifications.seekBefore(KeysetCursor.decode(cursor)));
+        Sort sort = Sort.by("date").descending().and(Sort.by("id").descending());
+        PageLimits.checkSize(size);
+
+        List<Notification> notifications = notificationRepository.findBy(specification,
+                query -> query.sortBy(sort).limit(size + 1).all());
+        boolean hasNext = notifications.size() > size;
+        if(hasNext) notifications = notifications.subList(0, size);
+
+        String nextCursor = null;
+        if(!notifications.isEmpty()){
+            Notification last = notifications.get(notifications.size() - 1);
+            nextCursor = new KeysetCursor(last.getDate(), last.getId()).encode();
+        }
+        Slice<NotificationResponseDTO> slice = new SliceImpl<>(notifications.stream()
+                .map(notification -> notificationToDTO(notification, lastReadAt)).toList(),
+                PageRequest.of(0, size, sort), hasNext);
+        return new CursorSliceDTO<>(slice, nextCursor);
+    }
+
+    @Transactional
     public NotificationResponseDTO getNotification(Long notificationId, String username){
-        Customer customer = customerRepository.findByUsername(username).orElseThrow(() -> new CustomerNotFoundException("The customer with the username " + username + " not found."));
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(() -> new CustomerNotFoundException("The customer with the username " + username + " not found."));
         Notification notification = notificationRepository.findById(notificationId).orElseThrow(NotificationNotFoundException::new);
-        if(!notification.getCustomer().equals(customer)){
+        if(!notification.getCustomer().getId().equals(customer.id())){
             throw new NotificationAccessDeniedException();
         }
-        if(notification.isUnread()){
-            notification.setNotificationStatus(NotificationStatus.READ);
+        if(notification.isUnread() &&
+                notificationRepository.markAsRead(NotificationStatus.READ, notificationId, NotificationStatus.UNREAD) == 1){
+            customerSummaryRepository.markRead(customer.id(), notification.getCreatedAt(), LocalDateTime.now());
         }
-        notificationRepository.save(notification);
 
-        return notificationToDTO(notification);
+        NotificationResponseDTO responseDTO = notificationToDTO(notification, null);
+        responseDTO.setNotificationStatus(NotificationStatus.READ);
+        return responseDTO;
     }
 
     @Transactional
-    public void readAllNotifications(String username){
-        Customer customer = customerRepository.findByUsername(username).orElseThrow(() -> new CustomerNotFoundException("The customer with the username " + username + " not found."));
-        notificationRepository.markAllAsRead(NotificationStatus.READ, customer, NotificationStatus.UNREAD);
+    public void readAllNotifications(ReadAllMode mode, String username){
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(() -> new CustomerNotFoundException("The customer with the username " + username + " not found."));
+        LocalDateTime now = LocalDateTime.now();
+        if(mode == ReadAllMode.WATERMARK){
+            customerSummaryRepository.advanceReadWatermark(customer.id(), now, now);
+            return;
+        }
+        customerSummaryRepository.resetUnread(customer.id(), now);
+        notificationRepository.markAllAsRead(NotificationStatus.READ, customer.id(), NotificationStatus.UNREAD);
+    }
+
+    @Transactional(readOnly = true)
+    public UnreadCountDTO getUnreadCount(String username){
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(() -> new CustomerNotFoundException("The customer with the username " + username + " not found."));
+        return customerSummaryRepository.findById(customer.id())
+                .map(summary -> new UnreadCountDTO(summary.getUnreadNotifications(), summary.getLastReadAt()))
+                .orElseGet(() -> new UnreadCountDTO(0, null));
     }
 
     @Transactional
     public void createNotification(Customer customer, NotificationType type, String message){
-        Notification notification = new Notification();
-        notification.setDate(LocalDateTime.now());
-        notification.setMessage(message);
-        notification.setNotificationType(type);
-        notification.setNotificationStatus(NotificationStatus.UNREAD);
-
-        customer.addNotification(notification);
-        notificationRepository.save(notification);
+        operationMetrics.record("notification.create", () -> {
+            Notification notification = new Notification();
+            notification.setDate(LocalDateTime.now());
+            notification.setMessage(message);
+            notification.setNotificationType(type);
+            notification.setNotificationStatus(NotificationStatus.UNREAD);
+
+            customer.addNotification(notification);
+            notificationRepository.save(notification);
+            customerSummaryRepository.addUnread(List.of(notification.getId()), LocalDateTime.now());
+        });
+    }
+
+    @Transactional
+    public void createNotification(Long customerId, NotificationType type, String message){
+        operationMetrics.record("notification.create", () -> {
+            Notification notification = new Notification();
+            notification.setDate(LocalDateTime.now());
+            notification.setMessage(message);
+            notification.setNotificationType(type);
+            notification.setNotificationStatus(NotificationStatus.UNREAD);
+            notification.setCustomer(customerRepository.getReferenceById(customerId));
+
+            notificationRepository.save(notification);
+            customerSummaryRepository.addUnread(List.of(notification.getId()), LocalDateTime.now());
+        });
+    }
+
+    private List<NotificationEvent> transferEvents(Account fromAccount, Account toAccount, BigDecimal amount, LocalDateTime occurredAt){
+        NotificationEvent debit = new NotificationEvent(NotificationEventType.TRANSFER_DEBIT,
+                fromAccount.getCustomer().getId(), amount, occurredAt);
+        debit.setAccountId(fromAccount.getId());
+        debit.setCounterpartyCustomerId(toAccount.getCustomer().getId());
+
+        NotificationEvent credit = new NotificationEvent(NotificationEventType.TRANSFER_CREDIT,
+                toAccount.getCustomer().getId(), amount, occurredAt);
+        credit.setAccountId(toAccount.getId());
+        credit.setCounterpartyCustomerId(fromAccount.getCustomer().getId());
+
+        return List.of(debit, credit);
+    }
+
+    @Transactional
+    public void publishTransfer(Account fromAccount, Account toAccount, BigDecimal amount, LocalDateTime occurredAt){
+        publish(transferEvents(fromAccount, toAccount, amount, occurredAt));
+    }
+
+    @Transactional
+    public void publishTransfers(List<Transaction> transfers){
+        List<NotificationEvent> events = new ArrayList<>();
+        for(Transaction transfer : transfers){
+            events.addAll(transferEvents(transfer.getFromAccount(), transfer.getToAccount(),
+                    transfer.getAmount(), transfer.getDateOfTransaction()));
+        }
+        if(!events.isEmpty()) publish(events);
+    }
+
+    @Transactional
+    public void publishAccountEvent(NotificationEventType type, Account account, BigDecimal amount, LocalDateTime occurredAt){
+        NotificationEvent event = new NotificationEvent(type, account.getCustomer().getId(), amount, occurredAt);
+        event.setAccountId(account.getId());
+        publish(List.of(event));
+    }
+
+    @Transactional
+    public void publishLoanEvent(NotificationEventType type, Loan loan, BigDecimal amount,
+                                 BigDecimal outstandingAmount, LocalDateTime occurredAt){
+        NotificationEvent event = new NotificationEvent(type, loan.getAccount().getCustomer().getId(), amount, occurredAt);
+        event.setAccountId(loan.getAccount().getId());
+        event.setLoanId(loan.getId());
+        event.setOutstandingAmount(outstandingAmount);
+        publish(List.of(event));
     }
 }
@@ -0,0 +1,137 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.dto.transaction.TransactionResponseDTO;
+import com.example.bankingapp.entities.transaction.TransactionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+public class OperationMetrics {
+    public static final String OPERATION_TIMER = "banking.operation";
+    public static final String COMMIT_TIMER = "banking.operation.commit";
+    public static final String AMOUNT_COUNTER = "banking.operation.amount";
+
+    private final MeterRegistry registry;
+
+    public OperationMetrics(MeterRegistry registry){
+        this.registry = registry;
+    }
+
+    public enum FailureCode {
+        INSUFFICIENT_BALANCE("Insufficient balance.", "Insufficient balance!"),
+        DAILY_LIMIT("Daily maximum deposit limit exceeded.", "Daily maximum withdraw limit exceeded.", "Daily payment limit reached."),
+        OVERPAYMENT("You are paying more than required amount."),
+        SETTLEMENT_FAILED("Settlement failed."),
+        UNKNOWN,
+        OTHER;
+
+        private final Set<String> reasons;
+
+        FailureCode(String... reasons){
+            this.reasons = Set.of(reasons);
+        }
+
+        public static FailureCode of(String failureReason){
+            if(failureReason == null) return UNKNOWN;
+            for(FailureCode code : values()){
+                if(code.reasons.contains(failureReason)) return code;
+            }
+            return OTHER;
+        }
+
+        public String tag(){
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public record Outcome(String outcome, String reason, BigDecimal amount) {
+        public static Outcome of(TransactionStatus status, String failureReason, BigDecimal amount){
+            if(status == TransactionStatus.SUCCESS) return new Outcome("success", "none", amount);
+            return new Outcome("failed", FailureCode.of(failureReason).tag(), null);
+        }
+
+        public static Outcome of(TransactionResponseDTO transaction){
+            return of(transaction.getTransactionStatus(), transaction.getFailureReason(), transaction.getAmount());
+        }
+
+        public static Outcome success(){
+            return new Outcome("success", "none", null);
+        }
+
+        static Outcome error(RuntimeException e){
+            return new Outcome("error", e.getClass().getSimpleName(), null);
+        }
+    }
+
+    public <T> T record(String operation, Supplier<T> action, Function<T, Outcome> outcomeOf){
+        Timer.Sample sample = Timer.start(registry);
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            finish(operation, sample, Outcome.error(e));
+            throw e;
+        }
+        finish(operation, sample, outcomeOf.apply(result));
+        return result;
+    }
+
+    public void record(String operation, Runnable action){
+        record(operation, () -> {
+            action.run();
+            return null;
+        }, ignored -> Outcome.success());
+    }
+
+    private void finish(String operation, Timer.Sample sample, Outcome outcome){
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            stop(operation, sample, outcome, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStartedAt;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStartedAt = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                boolean committed = status == STATUS_COMMITTED;
+                if(committed && commitStartedAt != 0){
+                    Timer.builder(COMMIT_TIMER)
+                            .tags(Tags.of("operation", operation))
+                            .register(registry)
+                            .record(System.nanoTime() - commitStartedAt, TimeUnit.NANOSECONDS);
+                }
+                stop(operation, sample, outcome, committed);
+            }
+        });
+    }
+
+    private void stop(String operation, Timer.Sample sample, Outcome outcome, boolean committed){
+        String result = committed || !"success".equals(outcome.outcome()) ? outcome.outcome() : "rolled_back";
+        sample.stop(Timer.builder(OPERATION_TIMER)
+                .tags(Tags.of("operation", operation, "outcome", result, "reason", outcome.reason()))
+                .register(registry));
+        if(committed && outcome.amount() != null){
+            Counter.builder(AMOUNT_COUNTER)
+                    .tags(Tags.of("operation", operation))
+                    .register(registry)
+                    .increment(outcome.amount().doubleValue());
+        }
+    }
+}
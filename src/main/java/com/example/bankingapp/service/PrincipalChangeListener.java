@@ -0,0 +1,26 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.entities.customer.Customer;
+import com.example.bankingapp.entities.employee.Employee;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PrincipalChangeListener {
+    private final ObjectProvider<PrincipalResolver> principalResolver;
+
+    public PrincipalChangeListener(ObjectProvider<PrincipalResolver> principalResolver){
+        this.principalResolver = principalResolver;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onPrincipalChanged(Object entity){
+        PrincipalResolver resolver = principalResolver.getIfAvailable();
+        if(resolver == null) return;
+        if(entity instanceof Customer customer) resolver.evictCustomer(customer.getId());
+        else if(entity instanceof Employee employee) resolver.evictEmployee(employee.getId());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.dto.principal.CustomerPrincipal;
+import com.example.bankingapp.dto.principal.EmployeePrincipal;
+import com.example.bankingapp.repository.CustomerRepository;
+import com.example.bankingapp.repository.EmployeeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Service
+public class PrincipalResolver {
+    private static final int MAX_CACHED_PRINCIPALS = 10_000;
+    private static final Duration PRINCIPAL_TTL = Duration.ofSeconds(30);
+
+    private final CustomerRepository customerRepository;
+    private final EmployeeRepository employeeRepository;
+    private final Cache<String, CustomerPrincipal> customers = newCache();
+    private final Cache<String, EmployeePrincipal> employees = newCache();
+
+    public PrincipalResolver(CustomerRepository customerRepository, EmployeeRepository employeeRepository){
+        this.customerRepository = customerRepository;
+        this.employeeRepository = employeeRepository;
+    }
+
+    private static <V> Cache<String, V> newCache(){
+        return Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_PRINCIPALS)
+                .expireAfterWrite(PRINCIPAL_TTL)
+                .build();
+    }
+
+    public Optional<CustomerPrincipal> findCustomer(String username){
+        CustomerPrincipal cached = customers.getIfPresent(username);
+        if(cached != null) return Optional.of(cached);
+
+        Optional<CustomerPrincipal> principal = customerRepository.findPrincipalByUsername(username);
+        principal.ifPresent(resolved -> customers.put(username, resolved));
+        return principal;
+    }
+
+    public Optional<EmployeePrincipal> findEmployee(String username){
+        EmployeePrincipal cached = employees.getIfPresent(username);
+        if(cached != null) return Optional.of(cached);
+        return findCurrentEmployee(username);
+    }
+
+    public Optional<EmployeePrincipal> findCurrentEmployee(String username){
+        Optional<EmployeePrincipal> principal = employeeRepository.findPrincipalByUsername(username);
+        principal.ifPresentOrElse(resolved -> employees.put(username, resolved), () -> employees.invalidate(username));
+        return principal;
+    }
+
+    public void evictCustomer(Long customerId){
+        evict(() -> customers.asMap().values().removeIf(principal -> principal.id().equals(customerId)));
+    }
+
+    public void evictEmployee(Long employeeId){
+        evict(() -> employees.asMap().values().removeIf(principal -> principal.id().equals(employeeId)));
+    }
+
+    private void evict(Runnable eviction){
+        eviction.run();
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
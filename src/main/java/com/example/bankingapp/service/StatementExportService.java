@@ -0,0 +1,148 @@
+package com.example.bankingapp.service;
+
+import com.example.bankingapp.dto.principal.CustomerPrincipal;
+import com.example.bankingapp.dto.principal.EmployeePrincipal;
+import com.example.bankingapp.dto.transaction.StatementFormat;
+import com.example.bankingapp.dto.transaction.TransactionStatementRow;
+import com.example.bankingapp.entities.account.Account;
+import com.example.bankingapp.entities.employee.EmployeeStatus;
+import com.example.bankingapp.exception.AccountAccessDeniedException;
+import com.example.bankingapp.exception.AccountNotFoundException;
+import com.example.bankingapp.exception.CustomerNotFoundException;
+import com.example.bankingapp.exception.EmployeeInactiveException;
+import com.example.bankingapp.exception.EmployeeNotFoundException;
+import com.example.bankingapp.repository.AccountRepository;
+import com.example.bankingapp.repository.TransactionRepository;
+import com.example.bankingapp.utils.Constants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Stream;
+
+@Service
+public class StatementExportService {
+    private static final String CSV_HEADER = "transactionId,dateOfTransaction,transactionType,transactionStatus,amount,fromAccountId,toAccountId,balanceAfter,failureReason";
+    private static final DateTimeFormatter CSV_DATE_FORMAT = DateTimeFormatter.ofPattern(Constants.LocalDateTimePattern);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final PrincipalResolver principalResolver;
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    public StatementExportService(AccountRepository accountRepository,
+                                  TransactionRepository transactionRepository,
+                                  PrincipalResolver principalResolver,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager){
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.principalResolver = principalResolver;
+        this.rowWriter = objectMapper.writerFor(TransactionStatementRow.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public record StatementRange(Long accountId, LocalDateTime from, LocalDateTime to) {
+        public String fileName(StatementFormat format){
+            return "statement-" + accountId + "-" + from.toLocalDate() + "-" + to.toLocalDate() + "." + format.getExtension();
+        }
+    }
+
+    private StatementRange rangeOf(Account account, LocalDate fromDate, LocalDate toDate){
+        LocalDate from = fromDate != null ? fromDate
+                : account.getDateOfIssuance() != null ? account.getDateOfIssuance() : LocalDate.EPOCH;
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        if(from.isAfter(to)){
+            throw new IllegalArgumentException("fromDate cannot be after toDate.");
+        }
+        return new StatementRange(account.getId(), from.atStartOfDay(), to.atTime(LocalTime.MAX));
+    }
+
+    public StatementRange resolveCustomerStatement(Long accountId, LocalDate fromDate, LocalDate toDate, String customerUsername){
+        CustomerPrincipal customer = principalResolver.findCustomer(customerUsername).orElseThrow(CustomerNotFoundException::new);
+        Account account = accountRepository.findById(accountId).orElseThrow(AccountNotFoundException::new);
+        if(!account.getCustomer().getId().equals(customer.id())){
+            throw new AccountAccessDeniedException("You are not authorized to access this account.");
+        }
+        return rangeOf(account, fromDate, toDate);
+    }
+
+    public StatementRange resolveEmployeeStatement(Long accountId, LocalDate fromDate, LocalDate toDate, String employeeUsername){
+        EmployeePrincipal employee = principalResolver.findEmployee(employeeUsername).orElseThrow(EmployeeNotFoundException::new);
+        if(employee.employeeStatus() != EmployeeStatus.ACTIVE){
+            throw new EmployeeInactiveException();
+        }
+        Account account = accountRepository.findById(accountId).orElseThrow(AccountNotFoundException::new);
+        return rangeOf(account, fromDate, toDate);
+    }
+
+    public StreamingResponseBody export(StatementRange range, StatementFormat format){
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<TransactionStatementRow> rows = transactionRepository.streamStatement(range.accountId(),
+                            range.from(), range.to())) {
+                        if(format == StatementFormat.CSV) writeLine(writer, CSV_HEADER);
+                        rows.forEach(row -> writeLine(writer, format == StatementFormat.CSV ? toCsv(row) : toJson(row)));
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private static void writeLine(Writer writer, String line){
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toJson(TransactionStatementRow row){
+        try {
+            return rowWriter.writeValueAsString(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toCsv(TransactionStatementRow row){
+        return row.transactionId() + ","
+                + CSV_DATE_FORMAT.format(row.dateOfTransaction()) + ","
+                + row.transactionType() + ","
+                + row.transactionStatus() + ","
+                + row.amount().toPlainString() + ","
+                + (row.fromAccountId() != null ? row.fromAccountId() : "") + ","
+                + (row.toAccountId() != null ? row.toAccountId() : "") + ","
+                + (row.balanceAfter() != null ? row.balanceAfter().toPlainString() : "") + ","
+                + csvField(row.failureReason());
+    }
+
+    private static String csvField(String value){
+        if(value == null) return "";
+        if(value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
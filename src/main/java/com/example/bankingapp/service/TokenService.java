@@ -1,20 +1,43 @@
 package com.example.bankingapp.service;
 
 import com.example.bankingapp.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
 
 @Service
 public class TokenService {
 
     private static final String SECRET_KEY = "RITESH AANI SARTHAK DOGHE PAN KHUP MOTHE GANDU AAHET";
     private static final long EXPIRATION_TIME = 60 * 60 * 1000;
+    private static final int MAX_CACHED_TOKENS = 10_000;
     private static final SecretKey key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private static final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    public record VerifiedToken(String username, String role, List<GrantedAuthority> authorities, long expiresAt) {
+    }
+
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_TOKENS)
+            .expireAfterWrite(Duration.ofMillis(EXPIRATION_TIME))
+            .build();
 
     public String generateToken(String username, Role role){
         return Jwts.builder()
@@ -22,15 +45,40 @@ public class TokenService {
                 .claim("role", role.name())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes()))
+                .signWith(key)
                 .compact();
     }
 
     public Claims validateToken(String token){
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    public VerifiedToken authenticate(String token){
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if(cached != null){
+            if(cached.expiresAt() > now) return cached;
+            verifiedTokens.invalidate(digest);
+        }
+
+        Claims claims = validateToken(token);
+        String role = claims.get("role", String.class);
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                role,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)),
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : now + EXPIRATION_TIME);
+        verifiedTokens.put(digest, verified);
+        return verified;
+    }
+
+    private static String digest(String token){
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
     }
 }
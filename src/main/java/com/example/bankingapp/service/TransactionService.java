@@ -1,13 +1,15 @@
 package com.example.bankingapp.service;
 
+import com.example.bankingapp.dto.cursor.CursorSliceDTO;
+import com.example.bankingapp.dto.principal.CustomerPrincipal;
+import com.example.bankingapp.dto.principal.EmployeePrincipal;
 import com.example.bankingapp.dto.transaction.TransactionResponseDTO;
 import com.example.bankingapp.dto.transaction.TransactionSummaryDTO;
+import com.example.bankingapp.dto.transaction.TransactionSummaryView;
 import com.example.bankingapp.entities.account.Account;
 import com.example.bankingapp.entities.account.AccountStatus;
-import com.example.bankingapp.entities.customer.Customer;
 import com.example.bankingapp.entities.employee.Employee;
 import com.example.bankingapp.entities.employee.EmployeeStatus;
-import com.example.bankingapp.entities.notification.NotificationType;
 import com.example.bankingapp.entities.transaction.Transaction;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
 import com.example.bankingapp.entities.transaction.TransactionType;
@@ -17,10 +19,12 @@ import com.example.bankingapp.repository.CustomerRepository;
 import com.example.bankingapp.repository.EmployeeRepository;
 import com.example.bankingapp.repository.TransactionRepository;
 import com.example.bankingapp.specification.TransactionSpecifications;
-import com.example.bankingapp.utils.Constants;
+import com.example.bankingapp.utils.KeysetCursor;
+import com.example.bankingapp.utils.PageLimits;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -29,8 +33,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class TransactionService {
@@ -39,17 +43,29 @@ public class TransactionService {
     private final AccountRepository accountRepository;
     private final EmployeeRepository employeeRepository;
     private final NotificationService notificationService;
+    private final DailyLimitService dailyLimitService;
+    private final LedgerService ledgerService;
+    private final PrincipalResolver principalResolver;
+    private final OperationMetrics operationMetrics;
 
     public TransactionService(TransactionRepository transactionRepository,
                               CustomerRepository customerRepository,
                               AccountRepository accountRepository,
                               EmployeeRepository employeeRepository,
-                              NotificationService notificationService) {
+                              NotificationService notificationService,
+                              DailyLimitService dailyLimitService,
+                              LedgerService ledgerService,
+                              PrincipalResolver principalResolver,
+                              OperationMetrics operationMetrics) {
         this.transactionRepository = transactionRepository;
         this.customerRepository = customerRepository;
         this.accountRepository = accountRepository;
         this.employeeRepository = employeeRepository;
         this.notificationService = notificationService;
+        this.dailyLimitService = dailyLimitService;
+        this.ledgerService = ledgerService;
+        this.principalResolver = principalResolver;
+        this.operationMetrics = operationMetrics;
     }
 
     private void validateAccountAndAmount(Account fromAccount, Account toAccount, BigDecimal amount) {
@@ -77,25 +93,65 @@ public class TransactionService {
     }
 
     private Employee validateEmployeeFromUsername(String username) {
-        Employee employee = employeeRepository.findByUsername(username).orElseThrow(() -> new EmployeeNotFoundException("Employee with username " + username + " not found."));
-        if (employee.getEmployeeStatus() != EmployeeStatus.ACTIVE) {
+        return validateEmployee(username, principalResolver.findEmployee(username));
+    }
+
+    private Employee validateCurrentEmployeeFromUsername(String username) {
+        return validateEmployee(username, principalResolver.findCurrentEmployee(username));
+    }
+
+    private Employee validateEmployee(String username, Optional<EmployeePrincipal> principal) {
+        EmployeePrincipal employee = principal.orElseThrow(() -> new EmployeeNotFoundException("Employee with username " + username + " not found."));
+        if (employee.employeeStatus() != EmployeeStatus.ACTIVE) {
             throw new EmployeeInactiveException();
         }
 
-        return employee;
+        return employeeRepository.getReferenceById(employee.id());
     }
 
-    private Page<TransactionSummaryDTO> getAllTransactions(Customer customer, int page, int size, TransactionStatus status,
+    private List<Account> lockTransferAccounts(Long fromAccountId, Long toAccountId) {
+        if (fromAccountId == null || toAccountId == null) {
+            throw new IllegalArgumentException("Account id cannot be null.");
+        }
+        boolean fromFirst = fromAccountId <= toAccountId;
+        Optional<Account> first = accountRepository.findByIdForUpdate(fromFirst ? fromAccountId : toAccountId);
+        Optional<Account> second = fromAccountId.equals(toAccountId)
+                ? first
+                : accountRepository.findByIdForUpdate(fromFirst ? toAccountId : fromAccountId);
+
+        Account fromAccount = (fromFirst ? first : second).orElseThrow(() -> new AccountNotFoundException("The account with id " + fromAccountId + " does not exist"));
+        Account toAccount = (fromFirst ? second : first).orElseThrow(() -> new AccountNotFoundException("The account with id " + toAccountId + " does not exist"));
+        return List.of(fromAccount, toAccount);
+    }
+
+    private Page<TransactionSummaryDTO> getAllTransactions(Long customerId, int page, int size, TransactionStatus status,
                                                             TransactionType type, LocalDate fromDate, LocalDate toDate){
-        Pageable pageable = PageRequest.of(page, size, Sort.by("dateOfTransaction").descending());
-        Specification<Transaction> specification = TransactionSpecifications.forCustomers(customer.getId())
+        Pageable pageable = PageRequest.of(page, PageLimits.checkSize(size), Sort.by("dateOfTransaction").descending());
+        Specification<Transaction> specification = TransactionSpecifications.forCustomers(customerId)
                 .and(TransactionSpecifications.withStatus(status))
                 .and(TransactionSpecifications.withType(type))
                 .and(TransactionSpecifications.dateBetween(fromDate, toDate));
-        Page<Transaction> transactions = transactionRepository.findAll(specification, pageable);
-        return transactions.map(
-                transaction -> new TransactionSummaryDTO(transaction, customer)
-        );
+        return transactionRepository.findSummaries(specification, pageable)
+                .map(view -> new TransactionSummaryDTO(view, customerId));
+    }
+
+    private CursorSliceDTO<TransactionSummaryDTO> getTransactionSlice(Long customerId, String cursor, int size,
+                                                                     TransactionStatus status, TransactionType type,
+                                                                     LocalDate fromDate, LocalDate toDate){
+        Sort sort = Sort.by("dateOfTransaction").descending().and(Sort.by("id").descending());
+        Specification<Transaction> specification = TransactionSpecifications.forCustomers(customerId)
+                .and(TransactionSpecifications.withStatus(status))
+                .and(TransactionSpecifications.withType(type))
+                .and(TransactionSpecifications.dateBetween(fromDate, toDate))
+                .and(TransactionSpecifications.seekBefore(KeysetCursor.decode(cursor)));
+        Slice<TransactionSummaryView> views = transactionRepository.findSummarySlice(specification, sort, PageLimits.checkSize(size));
+
+        String nextCursor = null;
+        if(views.hasContent()){
+            TransactionSummaryView last = views.getContent().get(views.getNumberOfElements() - 1);
+            nextCursor = new KeysetCursor(last.dateOfTransaction(), last.transactionId()).encode();
+        }
+        return new CursorSliceDTO<>(views.map(view -> new TransactionSummaryDTO(view, customerId)), nextCursor);
     }
 
     private Transaction transfer(Account fromAccount, Account toAccount, BigDecimal amount) {
@@ -103,57 +159,38 @@ public class TransactionService {
         Transaction transaction = getTransaction(amount, fromAccount, toAccount);
         transaction.setTransactionType(TransactionType.TRANSFERRED);
 
-        BigDecimal totalTodayAmount = amount;
-        Specification<Transaction> specification = TransactionSpecifications.forFromAccounts(fromAccount)
-                .and(TransactionSpecifications.dateBetween(LocalDate.now(), null));
-        List<Transaction> transactionList = transactionRepository.findAll(specification);
-        for (Transaction t : transactionList) {
-            if (t.isDebit() || t.getTransactionType().equals(TransactionType.TRANSFERRED)) {
-                totalTodayAmount = totalTodayAmount.add(t.getAmount());
-            }
-        }
-
-        String fromMessage = "";
-        String toMessage = "";
-        if(amount.compareTo(fromAccount.getBalance()) > 0){
+        if (!dailyLimitService.tryDebit(fromAccount.getId(), amount)) {
             transaction.setTransactionStatus(TransactionStatus.FAILED);
-            transaction.setFailureReason("Insufficient balance.");
+            transaction.setFailureReason("Daily payment limit reached.");
         }
-        else if (totalTodayAmount.compareTo(BigDecimal.valueOf(50000)) > 0) {
+        else if(!ledgerService.debit(fromAccount, amount)){
+            dailyLimitService.releaseDebit(fromAccount.getId(), amount);
             transaction.setTransactionStatus(TransactionStatus.FAILED);
-            transaction.setFailureReason("Daily payment limit reached.");
+            transaction.setFailureReason("Insufficient balance.");
         } else {
+            if(!ledgerService.credit(toAccount, amount)){
+                throw new AccountNotActiveException("The recipient's account is currently " + toAccount.getAccountStatus() + ".");
+            }
             transaction.setTransactionStatus(TransactionStatus.SUCCESS);
-            fromAccount.withdrawal(amount);
-            toAccount.deposit(amount);
-
-            fromMessage = "Dear " + fromAccount.getCustomer().getName() +
-                    ", " + amount + " has been debited from your account A/C " + fromAccount.getId() +
-                    " on " + transaction.getDateOfTransaction().format(DateTimeFormatter.ofPattern(Constants.LocalDateTimePattern)) + " towards " +
-                    toAccount.getCustomer().getName() + ".";
-            toMessage = "Dear " + toAccount.getCustomer().getName() +
-                    ", " + amount + " has been credited to your account A/C " + toAccount.getId() +
-                    " on " + transaction.getDateOfTransaction().format(DateTimeFormatter.ofPattern(Constants.LocalDateTimePattern)) + " from " +
-                    fromAccount.getCustomer().getName() + ".";
+            transaction.setFromBalanceAfter(fromAccount.getBalance());
+            transaction.setToBalanceAfter(toAccount.getBalance());
         }
 
-        accountRepository.saveAll(List.of(fromAccount, toAccount));
         transactionRepository.save(transaction);
 
-        if(!fromMessage.isBlank() && !toMessage.isBlank()){
-            notificationService.createNotification(fromAccount.getCustomer(), NotificationType.TRANSACTION, fromMessage);
-            notificationService.createNotification(toAccount.getCustomer(), NotificationType.TRANSACTION, toMessage);
+        if(transaction.getTransactionStatus() == TransactionStatus.SUCCESS){
+            notificationService.publishTransfer(fromAccount, toAccount, amount, transaction.getDateOfTransaction());
         }
 
         return transaction;
     }
 
-    @Transactional
-    public TransactionResponseDTO transferFund(Long fromAccountId, Long toAccountId, BigDecimal amount, String username) {
-        Customer customer = customerRepository.findByUsername(username).orElseThrow(() -> new CustomerNotFoundException("The customer with username " + username + " not found."));
-        Account fromAccount = accountRepository.findById(fromAccountId).orElseThrow(() -> new AccountNotFoundException("The account with id " + fromAccountId + " does not exist"));
-        Account toAccount = accountRepository.findById(toAccountId).orElseThrow(() -> new AccountNotFoundException("The account with id " + toAccountId + " does not exist"));
-        if (!fromAccount.getCustomer().equals(customer)) {
+    private TransactionResponseDTO transferFundForCustomer(Long fromAccountId, Long toAccountId, BigDecimal amount, String username) {
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(() -> new CustomerNotFoundException("The customer with username " + username + " not found."));
+        List<Account> accounts = lockTransferAccounts(fromAccountId, toAccountId);
+        Account fromAccount = accounts.get(0);
+        Account toAccount = accounts.get(1);
+        if (!fromAccount.getCustomer().getId().equals(customer.id())) {
             throw new TransactionAccessDeniedException();
         }
         Transaction transaction = transfer(fromAccount, toAccount, amount);
@@ -161,10 +198,16 @@ public class TransactionService {
         return new TransactionResponseDTO(transaction, customer);
     }
 
+    @Transactional
+    public TransactionResponseDTO transferFund(Long fromAccountId, Long toAccountId, BigDecimal amount, String username) {
+        return operationMetrics.record("transfer", () -> transferFundForCustomer(fromAccountId, toAccountId, amount, username),
+                OperationMetrics.Outcome::of);
+    }
+
     public TransactionResponseDTO getTransaction(Long transactionId, String username) {
-        Customer customer = customerRepository.findByUsername(username).orElseThrow(() -> new CustomerNotFoundException("The customer with username " + username + " not found."));
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(() -> new CustomerNotFoundException("The customer with username " + username + " not found."));
         Transaction transaction = transactionRepository.findById(transactionId).orElseThrow(TransactionNotFoundException::new);
-        if (!((transaction.getFromAccount() != null && transaction.getFromAccount().getCustomer().equals(customer)) || (transaction.getToAccount() != null && transaction.getToAccount().getCustomer().equals(customer)))) {
+        if (!((transaction.getFromAccount() != null && transaction.getFromAccount().getCustomer().getId().equals(customer.id())) || (transaction.getToAccount() != null && transaction.getToAccount().getCustomer().getId().equals(customer.id())))) {
             throw new TransactionAccessDeniedException();
         }
 
@@ -177,29 +220,41 @@ public class TransactionService {
         return new TransactionResponseDTO(transaction, null);
     }
 
-    @Transactional
-    public TransactionResponseDTO transferFundByEmployee(Long fromAccountId, Long toAccountId, BigDecimal amount, String username) {
-        Employee employee = validateEmployeeFromUsername(username);
-        Account fromAccount = accountRepository.findById(fromAccountId).orElseThrow(() -> new AccountNotFoundException("The account with id " + fromAccountId + " does not exist"));
-        Account toAccount = accountRepository.findById(toAccountId).orElseThrow(() -> new AccountNotFoundException("The account with id " + toAccountId + " does not exist"));
+    private TransactionResponseDTO transferFundForEmployee(Long fromAccountId, Long toAccountId, BigDecimal amount, String username) {
+        Employee employee = validateCurrentEmployeeFromUsername(username);
+        List<Account> accounts = lockTransferAccounts(fromAccountId, toAccountId);
+        Account fromAccount = accounts.get(0);
+        Account toAccount = accounts.get(1);
         Transaction transaction = transfer(fromAccount, toAccount, amount);
         transaction.setHandledBy(employee);
-        employeeRepository.save(employee);
         transactionRepository.save(transaction);
 
         return new TransactionResponseDTO(transaction, null);
     }
 
+    @Transactional
+    public TransactionResponseDTO transferFundByEmployee(Long fromAccountId, Long toAccountId, BigDecimal amount, String username) {
+        return operationMetrics.record("transfer", () -> transferFundForEmployee(fromAccountId, toAccountId, amount, username),
+                OperationMetrics.Outcome::of);
+    }
+
     public Page<TransactionSummaryDTO> getAllTransactionsOfCustomer(Long customerId, int page, int size, TransactionStatus status,
                                                                      TransactionType type, LocalDate fromDate, LocalDate toDate, String employeeUsername){
         validateEmployeeFromUsername(employeeUsername);
-        Customer customer = customerRepository.findById(customerId).orElseThrow(CustomerNotFoundException::new);
-        return getAllTransactions(customer, page, size, status, type, fromDate, toDate);
+        if(!customerRepository.existsById(customerId)) throw new CustomerNotFoundException();
+        return getAllTransactions(customerId, page, size, status, type, fromDate, toDate);
     }
 
     public Page<TransactionSummaryDTO> getAllTransactionsByCustomer(int page, int size, TransactionStatus status,
                                                                      TransactionType type, LocalDate fromDate, LocalDate toDate, String username) {
-        Customer customer = customerRepository.findByUsername(username).orElseThrow(() -> new CustomerNotFoundException("The customer with username " + username + " not found."));
-        return getAllTransactions(customer, page, size, status, type, fromDate, toDate);
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(() -> new CustomerNotFoundException("The customer with username " + username + " not found."));
+        return getAllTransactions(customer.id(), page, size, status, type, fromDate, toDate);
+    }
+
+    public CursorSliceDTO<TransactionSummaryDTO> getTransactionSliceByCustomer(String cursor, int size, TransactionStatus status,
+                                                                               TransactionType type, LocalDate fromDate,
+                                                                               LocalDate toDate, String username) {
+        CustomerPrincipal customer = principalResolver.findCustomer(username).orElseThrow(() -> new CustomerNotFoundException("The customer with username " + username + " not found."));
+        return getTransactionSlice(customer.id(), cursor, size, status, type, fromDate, toDate);
     }
 }
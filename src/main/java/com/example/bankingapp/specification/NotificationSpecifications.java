@@ -4,9 +4,11 @@ import com.example.bankingapp.entities.customer.Customer;
 import com.example.bankingapp.entities.notification.Notification;
 import com.example.bankingapp.entities.notification.NotificationStatus;
 import com.example.bankingapp.entities.notification.NotificationType;
+import com.example.bankingapp.utils.KeysetCursor;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 public class NotificationSpecifications {
@@ -15,6 +17,11 @@ public class NotificationSpecifications {
                 builder.equal(root.get("customer"), customer);
     }
 
+    public static Specification<Notification> forCustomer(Long customerId){
+        return (root, query, builder) ->
+                builder.equal(root.get("customer").get("id"), customerId);
+    }
+
     public static Specification<Notification> withType(NotificationType type){
         return ((root, query, builder) ->
                 (type == null)
@@ -29,6 +36,19 @@ public class NotificationSpecifications {
                         :builder.equal(root.get("notificationStatus"), status));
     }
 
+    public static Specification<Notification> withStatus(NotificationStatus status, LocalDateTime readBefore){
+        if(readBefore == null) return withStatus(status);
+        return (root, query, builder) -> {
+            if(status == null) return builder.conjunction();
+            if(status == NotificationStatus.UNREAD){
+                return builder.and(builder.equal(root.get("notificationStatus"), NotificationStatus.UNREAD),
+                        builder.greaterThan(root.get("createdAt"), readBefore));
+            }
+            return builder.or(builder.equal(root.get("notificationStatus"), NotificationStatus.READ),
+                    builder.lessThanOrEqualTo(root.get("createdAt"), readBefore));
+        };
+    }
+
     public static Specification<Notification> withDate(LocalDate from, LocalDate to){
         return (root, query, builder) -> {
             if(from != null && to != null){
@@ -46,4 +66,14 @@ public class NotificationSpecifications {
             return builder.conjunction();
         };
     }
+
+    public static Specification<Notification> seekBefore(KeysetCursor cursor){
+        return (root, query, builder) -> {
+            if(cursor == null) return builder.conjunction();
+            return builder.or(
+                    builder.lessThan(root.get("date"), cursor.date()),
+                    builder.and(builder.equal(root.get("date"), cursor.date()),
+                            builder.lessThan(root.get("id"), cursor.id())));
+        };
+    }
 }
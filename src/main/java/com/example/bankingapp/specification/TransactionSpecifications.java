@@ -5,8 +5,11 @@ import com.example.bankingapp.entities.loan.Loan;
 import com.example.bankingapp.entities.transaction.Transaction;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
 import com.example.bankingapp.entities.transaction.TransactionType;
-import jakarta.persistence.criteria.JoinType;
-import jakarta.persistence.criteria.Predicate;
+import com.example.bankingapp.utils.KeysetCursor;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
@@ -14,15 +17,16 @@ import java.time.LocalTime;
 
 public class TransactionSpecifications {
     public static Specification<Transaction> forCustomers(Long customerId){
-        return (root, query, builder) -> {
-            assert query != null;
-            query.distinct(true);
-            var fromJoin = root.join("fromAccount", JoinType.LEFT);
-            var toJoin = root.join("toAccount", JoinType.LEFT);
-            Predicate fromCustomer = builder.equal(fromJoin.get("customer").get("id"), customerId);
-            Predicate toCustomer = builder.equal(toJoin.get("customer").get("id"), customerId);
-            return builder.or(fromCustomer, toCustomer);
-        };
+        return (root, query, builder) ->
+                builder.or(root.get("fromAccount").get("id").in(accountIdsOf(customerId, query, builder)),
+                        root.get("toAccount").get("id").in(accountIdsOf(customerId, query, builder)));
+    }
+
+    private static Subquery<Long> accountIdsOf(Long customerId, CommonAbstractCriteria query, CriteriaBuilder builder){
+        Subquery<Long> accountIds = query.subquery(Long.class);
+        Root<Account> account = accountIds.from(Account.class);
+        return accountIds.select(account.get("id"))
+                .where(builder.equal(account.get("customer").get("id"), customerId));
     }
 
     public static Specification<Transaction> forAccounts(Account account){
@@ -71,4 +75,14 @@ public class TransactionSpecifications {
             else return builder.conjunction();
         };
     }
+
+    public static Specification<Transaction> seekBefore(KeysetCursor cursor){
+        return (root, query, builder) -> {
+            if(cursor == null) return builder.conjunction();
+            return builder.or(
+                    builder.lessThan(root.get("dateOfTransaction"), cursor.date()),
+                    builder.and(builder.equal(root.get("dateOfTransaction"), cursor.date()),
+                            builder.lessThan(root.get("id"), cursor.id())));
+        };
+    }
 }
@@ -9,6 +9,7 @@ public class Endpoints {
 
 
     public static final String CUSTOMER_ME = "/api/customer/me";
+    public static final String CUSTOMER_DASHBOARD = "/api/customer/dashboard";
 
 
 
@@ -21,6 +22,8 @@ public class Endpoints {
     public static final String CUSTOMER_ACCOUNTS_ALL = "/api/customer/accounts/all";
     public static final String CUSTOMER_ACCOUNT_PARTICULAR = "/api/customer/accounts/{accountId}";
     public static final String CUSTOMER_ACCOUNT_TRANSACTION_ALL = "/api/customer/accounts/{accountId}/transactions";
+    public static final String CUSTOMER_ACCOUNT_TRANSACTION_CURSOR = "/api/customer/accounts/{accountId}/transactions/cursor";
+    public static final String CUSTOMER_ACCOUNT_STATEMENT = "/api/customer/accounts/{accountId}/statement";
     public static final String CUSTOMER_ACCOUNT_CREATE = "/api/customer/accounts";
     public static final String CUSTOMER_ACCOUNT_DELETE = "/api/customer/accounts/{accountId}/close";
     public static final String CUSTOMER_ACCOUNT_BALANCE = "/api/customer/accounts/{accountId}/balance";
@@ -28,6 +31,7 @@ public class Endpoints {
     public static final String EMPLOYEE_ACCOUNTS_ALL = "/api/employee/customer/{customerId}/accounts";
     public static final String EMPLOYEE_ACCOUNT_PARTICULAR = "/api/employee/accounts/{accountId}";
     public static final String EMPLOYEE_ACCOUNT_TRANSACTIONS_ALL = "/api/employee/accounts/{accountId}/transactions";
+    public static final String EMPLOYEE_ACCOUNT_STATEMENT = "/api/employee/accounts/{accountId}/statement";
     public static final String EMPLOYEE_ACCOUNT_CREATE = "/api/employee/customer/{customerId}/accounts";
     public static final String EMPLOYEE_ACCOUNT_DELETE = "/api/employee/accounts/{accountId}/close";
     public static final String EMPLOYEE_ACCOUNT_BALANCE = "/api/employee/accounts/{accountId}/balance";
@@ -52,8 +56,10 @@ public class Endpoints {
     public static final String TRANSACTIONS_CUSTOMER_TRANSFER = "/api/customer/transactions/transfer";
     public static final String TRANSACTION_CUSTOMER = "/api/customer/transactions/{transactionId}";
     public static final String CUSTOMER_TRANSACTION_ALL = "/api/customer/transactions";
+    public static final String CUSTOMER_TRANSACTION_CURSOR = "/api/customer/transactions/cursor";
 
     public static final String TRANSACTIONS_EMPLOYEE_TRANSFER = "/api/employee/transactions/transfer";
+    public static final String TRANSACTIONS_EMPLOYEE_BULK_TRANSFER = "/api/employee/transactions/transfer/bulk";
     public static final String TRANSACTION_EMPLOYEE = "/api/employee/transactions/{transactionId}";
     public static final String EMPLOYEE_CUSTOMER_TRANSACTION_ALL = "/api/employee/customer/{customerId}/transactions";
 
@@ -61,6 +67,8 @@ public class Endpoints {
 
 
     public static final String NOTIFICATIONS_ALL = "/api/notifications";
+    public static final String NOTIFICATIONS_CURSOR = "/api/notifications/cursor";
     public static final String NOTIFICATION_PARTICULAR = "/api/notifications/{notificationId}";
     public static final String NOTIFICATION_READ_ALL = "/api/notifications/read";
+    public static final String NOTIFICATIONS_UNREAD_COUNT = "/api/notifications/unread-count";
 }
@@ -0,0 +1,26 @@
+package com.example.bankingapp.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+public record KeysetCursor(LocalDateTime date, Long id) {
+    private static final String SEPARATOR = "|";
+
+    public String encode(){
+        String raw = date + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor){
+        if(cursor == null || cursor.isBlank()) return null;
+        try{
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e){
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.bankingapp.utils;
+
+public class PageLimits {
+    private PageLimits(){}
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static int checkSize(int size){
+        if(size < 1) throw new IllegalArgumentException("Page size must not be less than one.");
+        if(size > MAX_PAGE_SIZE) throw new IllegalArgumentException("Page size must not be greater than " + MAX_PAGE_SIZE + ".");
+        return size;
+    }
+}
@@ -0,0 +1,14 @@
+-- Bulk requests commit their Idempotency-Key as IN_PROGRESS before the first chunk and store each
+-- chunk's results in that chunk's transaction, so a retry replays the settled chunks and only
+-- settles the rest. The key becomes COMPLETED once every chunk has committed. Single transfers keep
+-- inserting the key in their own transaction, already COMPLETED.
+alter table idempotency_keys add column status varchar(16) not null default 'COMPLETED';
+
+create table idempotency_chunks (
+    principal varchar(255) not null,
+    idempotency_key varchar(255) not null,
+    chunk_index integer not null,
+    response text,
+    primary key (principal, idempotency_key, chunk_index),
+    foreign key (principal, idempotency_key) references idempotency_keys (principal, idempotency_key) on delete cascade
+);
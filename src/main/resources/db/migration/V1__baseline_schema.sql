@@ -0,0 +1,156 @@
+create sequence accounts_seq start with 1 increment by 50;
+
+create sequence customers_seq start with 1 increment by 50;
+
+create sequence employees_seq start with 1 increment by 50;
+
+create sequence loans_seq start with 1 increment by 50;
+
+create sequence notification_outbox_seq start with 1 increment by 50;
+
+create sequence notifications_seq start with 1 increment by 50;
+
+create sequence transactions_seq start with 1 increment by 50;
+
+create table account_daily_limits (
+    account_id bigint not null,
+    usage_date date not null,
+    credit_total numeric(38,2) not null,
+    debit_total numeric(38,2) not null,
+    primary key (account_id, usage_date)
+);
+
+create table accounts (
+    id bigint not null,
+    status varchar(255) not null check (status in ('ACTIVE','INACTIVE','CLOSED','SUSPENDED')),
+    type varchar(255) not null check (type in ('SAVINGS','CURRENT','FIXED_DEPOSIT','RECURRING_DEPOSIT','LOAN_ACCOUNT')),
+    balance numeric(38,2) not null,
+    date date not null,
+    customer_id bigint not null,
+    primary key (id)
+);
+
+create table customers (
+    id bigint not null,
+    address varchar(255),
+    date_of_birth date,
+    email varchar(255),
+    gender smallint check (gender between 0 and 2),
+    name varchar(255),
+    password varchar(255) not null,
+    phone_number varchar(255),
+    username varchar(255) not null,
+    aadhar_no varchar(255),
+    role smallint not null check (role between 0 and 1),
+    primary key (id)
+);
+
+create table employees (
+    id bigint not null,
+    address varchar(255),
+    date_of_birth date,
+    email varchar(255),
+    gender smallint check (gender between 0 and 2),
+    name varchar(255),
+    password varchar(255) not null,
+    phone_number varchar(255),
+    username varchar(255) not null,
+    employee_role varchar(255) not null check (employee_role in ('ADMIN','MANAGER','TELLER')),
+    status varchar(255) not null check (status in ('ACTIVE','INACTIVE','LOCKED','SUSPENDED')),
+    role smallint not null check (role between 0 and 1),
+    primary key (id)
+);
+
+create table loans (
+    id bigint not null,
+    amortized_balance numeric(38,16),
+    amortized_months integer,
+    issuance_date date,
+    last_payment_month integer,
+    last_payment_month_total numeric(38,2),
+    status varchar(255) not null check (status in ('PENDING','APPROVED','REJECTED','DISBURSED','CLOSED','DEFAULTED')),
+    type varchar(255) not null check (type in ('HOME','PERSONAL','VEHICLE','EDUCATION','BUSINESS','GOLD')),
+    principal_amount numeric(38,2) not null,
+    interest_rate numeric(38,2) not null,
+    tenure integer not null,
+    account_id bigint not null,
+    employee_id bigint,
+    primary key (id)
+);
+
+create table notification_outbox (
+    id bigint not null,
+    account_id bigint,
+    amount numeric(38,2),
+    counterparty_customer_id bigint,
+    customer_id bigint not null,
+    type varchar(255) not null check (type in ('TRANSFER_DEBIT','TRANSFER_CREDIT','DEPOSIT','WITHDRAWAL','LOAN_DISBURSED','LOAN_REPAID','LOAN_CLOSED')),
+    loan_id bigint,
+    occurred_at timestamp(6) not null,
+    outstanding_amount numeric(38,2),
+    primary key (id)
+);
+
+create table notifications (
+    id bigint not null,
+    date timestamp(6),
+    message varchar(255),
+    status varchar(255) check (status in ('READ','UNREAD')),
+    type varchar(255) check (type in ('INFO','TRANSACTION','ALERT','REMINDER')),
+    customer_id bigint,
+    primary key (id)
+);
+
+create table transactions (
+    id bigint not null,
+    amount numeric(38,2) not null,
+    date timestamp(6) not null,
+    failure_reasons varchar(255),
+    status varchar(255) not null check (status in ('PENDING','SUCCESS','FAILED','REVERSED','CANCELLED')),
+    type varchar(255) not null check (type in ('DEPOSIT','WITHDRAWAL','TRANSFERRED','LOAN_DISBURSEMENT','LOAN_REPAYMENT','CHARGE','INTEREST')),
+    from_account_id bigint,
+    employee_id bigint,
+    loan_id bigint,
+    to_account_id bigint,
+    primary key (id)
+);
+
+alter table accounts
+   add constraint fk_accounts_customer
+   foreign key (customer_id)
+   references customers;
+
+alter table loans
+   add constraint fk_loans_account
+   foreign key (account_id)
+   references accounts;
+
+alter table loans
+   add constraint fk_loans_employee
+   foreign key (employee_id)
+   references employees;
+
+alter table notifications
+   add constraint fk_notifications_customer
+   foreign key (customer_id)
+   references customers;
+
+alter table transactions
+   add constraint fk_transactions_from_account
+   foreign key (from_account_id)
+   references accounts;
+
+alter table transactions
+   add constraint fk_transactions_employee
+   foreign key (employee_id)
+   references employees;
+
+alter table transactions
+   add constraint fk_transactions_loan
+   foreign key (loan_id)
+   references loans;
+
+alter table transactions
+   add constraint fk_transactions_to_account
+   foreign key (to_account_id)
+   references accounts;
@@ -0,0 +1,22 @@
+-- Login, registration and every authenticated request resolve people by natural key.
+create unique index ux_customers_username on customers (username);
+create unique index ux_customers_email on customers (email);
+create unique index ux_customers_aadhar_no on customers (aadhar_no);
+create unique index ux_customers_phone_number on customers (phone_number);
+create unique index ux_employees_username on employees (username);
+
+-- AccountService / TransactionSpecifications.forCustomers: account ids of a customer.
+create index idx_accounts_customer on accounts (customer_id);
+
+-- TransactionSpecifications.forCustomers / forAccounts / forFromAccounts / forToAccounts + date ordering.
+create index idx_transactions_from_account_date on transactions (from_account_id, date);
+create index idx_transactions_to_account_date on transactions (to_account_id, date);
+
+-- TransactionSpecifications.forLoan + date ordering.
+create index idx_transactions_loan_date on transactions (loan_id, date);
+
+-- NotificationSpecifications.forCustomer + withStatus + date ordering.
+create index idx_notifications_customer_status_date on notifications (customer_id, status, date);
+
+-- LoanSpecification.forCustomer (via account) + withStatus + dateBetween / issuance ordering.
+create index idx_loans_account_status_issuance on loans (account_id, status, issuance_date);
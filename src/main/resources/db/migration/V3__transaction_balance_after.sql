@@ -0,0 +1,4 @@
+-- Running balance of the debited and credited account after a successful transaction.
+-- Rows written before this migration keep NULL; statements show no balance for them.
+alter table transactions add column from_balance_after numeric(38,2);
+alter table transactions add column to_balance_after numeric(38,2);
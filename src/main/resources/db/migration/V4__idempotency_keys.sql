@@ -0,0 +1,14 @@
+-- Idempotency-Key dedup store for money-moving endpoints. The key row is inserted in the same
+-- transaction as the transfer it guards, so a concurrent retry blocks on it and then replays the
+-- stored response. Rows are purged after the retention window (banking.idempotency.retention-hours).
+create table idempotency_keys (
+    principal varchar(255) not null,
+    idempotency_key varchar(255) not null,
+    operation varchar(64) not null,
+    request_fingerprint varchar(64) not null,
+    response text,
+    created_at timestamp(6) not null,
+    primary key (principal, idempotency_key)
+);
+
+create index idx_idempotency_keys_created_at on idempotency_keys (created_at);
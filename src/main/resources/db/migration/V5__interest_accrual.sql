@@ -0,0 +1,28 @@
+-- Daily interest accrual per account, kept out of accounts so the nightly run does not lock
+-- account rows. accrued carries sub-cent remainders between postings. accrued_through and
+-- posted_through make each day's accrual and each month's posting apply at most once.
+create table interest_accruals (
+    account_id bigint not null,
+    accrued numeric(38,6) not null,
+    accrued_through date not null,
+    posted_through date,
+    primary key (account_id)
+);
+
+alter table interest_accruals
+   add constraint fk_interest_accruals_account
+   foreign key (account_id)
+   references accounts;
+
+-- Progress of each id-range partition of an accrual or posting run, so a restarted run resumes
+-- after the last committed chunk instead of starting over.
+create table interest_run_checkpoints (
+    run_type varchar(16) not null check (run_type in ('ACCRUAL','POSTING')),
+    run_date date not null,
+    partition_start bigint not null,
+    partition_end bigint not null,
+    last_account_id bigint not null,
+    completed boolean not null,
+    updated_at timestamp(6) not null,
+    primary key (run_type, run_date, partition_start)
+);
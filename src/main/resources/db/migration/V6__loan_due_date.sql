@@ -0,0 +1,8 @@
+-- Repayment due date of a loan, maintained by PostgreSQL from issuance_date and tenure so the
+-- nightly default job and the overdue check in LoanService.createLoan are indexed range scans.
+-- Month arithmetic clamps to the end of month, like LocalDate.plusMonths in Loan.getDateOfRepayment.
+alter table loans add column due_date date
+    generated always as ((issuance_date + make_interval(months => tenure))::date) stored;
+
+-- LoanDefaultService.markDefaulted: DISBURSED loans past their due date.
+create index idx_loans_status_due_date on loans (status, due_date);
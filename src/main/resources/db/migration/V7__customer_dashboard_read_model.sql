@@ -0,0 +1,25 @@
+-- Read model behind the customer dashboard.
+-- Outstanding amount and EMI of active loans, refreshed whenever a loan is disbursed, repaid or
+-- rolled forward by LoanAmortizationService. NULL until the first refresh.
+alter table loans add column outstanding_snapshot numeric(38,2);
+alter table loans add column emi numeric(38,2);
+
+-- Per-customer unread notification count, adjusted by every write path in NotificationService and
+-- NotificationDispatcher. Seeded from the existing notifications.
+create table customer_summaries (
+    customer_id bigint not null,
+    unread_notifications integer not null,
+    updated_at timestamp(6) not null,
+    primary key (customer_id)
+);
+
+alter table customer_summaries
+   add constraint fk_customer_summaries_customer
+   foreign key (customer_id)
+   references customers;
+
+insert into customer_summaries (customer_id, unread_notifications, updated_at)
+select c.id, count(n.id), localtimestamp
+from customers c
+left join notifications n on n.customer_id = c.id and n.status = 'UNREAD'
+group by c.id;
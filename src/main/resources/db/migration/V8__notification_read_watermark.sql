@@ -0,0 +1,4 @@
+-- "Read all" watermark. Notifications dated at or before last_read_at count as read whatever their
+-- stored status, so marking everything read is a single-row update instead of rewriting each
+-- unread notification.
+alter table customer_summaries add column last_read_at timestamp(6);
@@ -0,0 +1,6 @@
+-- Time a notification row was written. Dispatched notifications carry the event time in date, which
+-- can be earlier than a "read all" that ran while the event waited in the outbox, so the read
+-- watermark in customer_summaries.last_read_at is compared against created_at instead.
+alter table notifications add column created_at timestamp(6);
+update notifications set created_at = date;
+alter table notifications alter column created_at set not null;
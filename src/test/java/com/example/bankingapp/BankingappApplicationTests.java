@@ -12,5 +12,5 @@ class BankingappApplicationTests {
 
 }
 
-// Customer No = 222 done, start from 223
-// Employee no = 97 done, start from 98
+// Customer No = 263 done, start from 264
+// Employee no = 107 done, start from 108
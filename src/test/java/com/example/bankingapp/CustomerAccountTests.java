@@ -13,10 +13,13 @@ import com.example.bankingapp.entities.loan.Loan;
 import com.example.bankingapp.entities.loan.LoanStatus;
 import com.example.bankingapp.entities.loan.LoanType;
 import com.example.bankingapp.entities.notification.Notification;
+import com.example.bankingapp.entities.notification.NotificationType;
 import com.example.bankingapp.entities.transaction.Transaction;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
 import com.example.bankingapp.entities.transaction.TransactionType;
 import com.example.bankingapp.repository.*;
+import com.example.bankingapp.service.InterestAccrualService;
+import com.example.bankingapp.service.NotificationService;
 import com.example.bankingapp.specification.NotificationSpecifications;
 import com.example.bankingapp.utils.Constants;
 import com.example.bankingapp.utils.Endpoints;
@@ -29,18 +32,30 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -55,6 +70,8 @@ public class CustomerAccountTests {
     private final LoanRepository loanRepository;
     private final PasswordEncoder passwordEncoder;
     private final ObjectMapper objectMapper;
+    private final InterestAccrualService interestAccrualService;
+    private final NotificationService notificationService;
 
     @Autowired
     public CustomerAccountTests(MockMvc mockMvc,
@@ -65,7 +82,9 @@ public class CustomerAccountTests {
                                 NotificationRepository notificationRepository,
                                 LoanRepository loanRepository,
                                 PasswordEncoder passwordEncoder,
-                                ObjectMapper objectMapper){
+                                ObjectMapper objectMapper,
+                                InterestAccrualService interestAccrualService,
+                                NotificationService notificationService){
         this.mockMvc = mockMvc;
         this.customerRepository = customerRepository;
         this.accountRepository = accountRepository;
@@ -75,6 +94,8 @@ public class CustomerAccountTests {
         this.loanRepository = loanRepository;
         this.passwordEncoder = passwordEncoder;
         this.objectMapper = objectMapper;
+        this.interestAccrualService = interestAccrualService;
+        this.notificationService = notificationService;
     }
 
     private Customer createCustomer(int num){
@@ -119,17 +140,14 @@ public class CustomerAccountTests {
         return employee;
     }
 
-    private Transaction createTransaction(int i){
+    private Transaction createTransaction(int i, Employee employee){
         Transaction transaction = new Transaction();
         transaction.setLoan(null);
         transaction.setTransactionStatus(TransactionStatus.SUCCESS);
         transaction.setTransactionType(TransactionType.DEPOSIT);
         transaction.setAmount(BigDecimal.valueOf(i * i * 100));
         transaction.setDateOfTransaction(LocalDateTime.now());
-
-        Employee employee = createEmployee(16);
         transaction.setHandledBy(employee);
-        employeeRepository.save(employee);
 
         return transaction;
     }
@@ -287,9 +305,12 @@ public class CustomerAccountTests {
         account.setCustomer(customer);
         customer.addAccount(account);
 
-        Transaction transaction0 = createTransaction(1);
-        Transaction transaction1 = createTransaction(2);
-        Transaction transaction2 = createTransaction(3);
+        Employee employee = createEmployee(16);
+        employeeRepository.save(employee);
+
+        Transaction transaction0 = createTransaction(1, employee);
+        Transaction transaction1 = createTransaction(2, employee);
+        Transaction transaction2 = createTransaction(3, employee);
         transaction2.setFromAccount(account);
         transaction1.setFromAccount(account);
         transaction0.setFromAccount(account);
@@ -309,6 +330,128 @@ public class CustomerAccountTests {
                 .andExpect(jsonPath("$.content[2].amount").exists());
     }
 
+    @Test
+    public void whenInterestAccruedAndPosted_ThenCreditedOncePerMonth() throws Exception{
+        Customer customer = createCustomer(248);
+        Account account = createAccount();
+        account.setAccountType(AccountType.SAVINGS);
+        account.setBalance(BigDecimal.valueOf(36500));
+        account.setCustomer(customer);
+        customer.addAccount(account);
+
+        customerRepository.save(customer);
+        accountRepository.save(account);
+
+        LocalDate lastDay = LocalDate.of(2999, 1, 31);
+        long accountId = account.getId();
+        assertEquals(1, interestAccrualService.accrue(lastDay.minusDays(1), accountId, accountId));
+        assertEquals(1, interestAccrualService.accrue(lastDay, accountId, accountId));
+        assertEquals(0, interestAccrualService.accrue(lastDay, accountId, accountId));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> postings = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            postings.add(executor.submit(() -> {
+                start.await();
+                return interestAccrualService.post(YearMonth.from(lastDay), accountId, accountId);
+            }));
+        }
+        start.countDown();
+        long posted = 0;
+        for (Future<Long> posting : postings) {
+            posted += posting.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(1, posted);
+        assertEquals(0, interestAccrualService.post(YearMonth.from(lastDay), accountId, accountId));
+
+        Account credited = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(36507).compareTo(credited.getBalance()));
+
+        List<Transaction> interest = transactionRepository.findAll().stream()
+                .filter(transaction -> transaction.getTransactionType() == TransactionType.INTEREST)
+                .filter(transaction -> transaction.getToAccount().getId().equals(account.getId()))
+                .toList();
+        assertEquals(1, interest.size());
+        assertEquals(0, BigDecimal.valueOf(7).compareTo(interest.get(0).getAmount()));
+        assertEquals(0, BigDecimal.valueOf(36507).compareTo(interest.get(0).getToBalanceAfter()));
+    }
+
+    @Test
+    public void whenExportStatement_ThenRowsStreamedInDateOrder() throws Exception{
+        Customer customer = createCustomer(245);
+        Account account = createAccount();
+        account.setCustomer(customer);
+        customer.addAccount(account);
+
+        customerRepository.save(customer);
+        accountRepository.save(account);
+
+        Transaction deposit = new Transaction();
+        deposit.setTransactionStatus(TransactionStatus.SUCCESS);
+        deposit.setTransactionType(TransactionType.DEPOSIT);
+        deposit.setAmount(BigDecimal.valueOf(500));
+        deposit.setDateOfTransaction(LocalDateTime.now().minusMinutes(5));
+        deposit.setToAccount(account);
+        deposit.setToBalanceAfter(BigDecimal.valueOf(500));
+
+        Transaction settled = new Transaction();
+        settled.setTransactionStatus(TransactionStatus.SUCCESS);
+        settled.setTransactionType(TransactionType.WITHDRAWAL);
+        settled.setAmount(BigDecimal.valueOf(200));
+        settled.setDateOfTransaction(LocalDateTime.now().minusMinutes(2));
+        settled.setFromAccount(account);
+        settled.setFromBalanceAfter(BigDecimal.valueOf(300));
+
+        Transaction withdrawal = new Transaction();
+        withdrawal.setTransactionStatus(TransactionStatus.FAILED);
+        withdrawal.setTransactionType(TransactionType.WITHDRAWAL);
+        withdrawal.setAmount(BigDecimal.valueOf(900));
+        withdrawal.setDateOfTransaction(LocalDateTime.now());
+        withdrawal.setFromAccount(account);
+        withdrawal.setFailureReason("Insufficient balance, try again.");
+        transactionRepository.saveAll(List.of(deposit, settled, withdrawal));
+
+        MvcResult result = mockMvc.perform(get(Endpoints.CUSTOMER_ACCOUNT_STATEMENT, account.getId())
+                        .with(user(customer.getUsername()).roles(customer.getRole().toString())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = csv.split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("transactionId,"));
+        assertEquals("balanceAfter", lines[0].split(",")[7]);
+        assertTrue(lines[1].startsWith(deposit.getId() + ","));
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(new BigDecimal(lines[1].split(",")[7])));
+        assertTrue(lines[2].startsWith(settled.getId() + ","));
+        assertEquals(0, BigDecimal.valueOf(300).compareTo(new BigDecimal(lines[2].split(",")[7])));
+        assertTrue(lines[3].startsWith(withdrawal.getId() + ","));
+        assertEquals("", lines[3].split(",")[7]);
+        assertTrue(lines[3].endsWith(",\"Insufficient balance, try again.\""));
+
+        result = mockMvc.perform(get(Endpoints.CUSTOMER_ACCOUNT_STATEMENT, account.getId())
+                        .param("format", "NDJSON")
+                        .with(user(customer.getUsername()).roles(customer.getRole().toString())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String ndjson = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        lines = ndjson.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(deposit.getId().longValue(), objectMapper.readTree(lines[0]).get("transactionId").asLong());
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(objectMapper.readTree(lines[0]).get("balanceAfter").decimalValue()));
+        assertEquals(0, BigDecimal.valueOf(300).compareTo(objectMapper.readTree(lines[1]).get("balanceAfter").decimalValue()));
+        assertEquals("WITHDRAWAL", objectMapper.readTree(lines[2]).get("transactionType").asText());
+        assertTrue(objectMapper.readTree(lines[2]).get("balanceAfter").isNull());
+    }
+
     @Test
     public void whenNoTransaction_ThenEmptyList() throws Exception{
         Customer customer = createCustomer(35);
@@ -385,6 +528,42 @@ public class CustomerAccountTests {
                 .andExpect(jsonPath("$.balance").value(2000.0));
     }
 
+    @Test
+    public void whenViewDashboard_ThenBalancesLoansAndUnreadCount() throws Exception{
+        Customer customer = createCustomer(250);
+        Account account = createAccount();
+        account.setBalance(BigDecimal.valueOf(2000));
+        Employee employee = createEmployee(102);
+        Loan loan = new Loan();
+        employee.addApprovedLoan(loan);
+        loan.setLoanStatus(LoanStatus.DISBURSED);
+        loan.setLoanType(LoanType.PERSONAL);
+        loan.setDateOfIssuance(LocalDate.now());
+        loan.setPrincipalAmount(BigDecimal.valueOf(12000));
+        loan.setRateOfInterest(BigDecimal.valueOf(12));
+        loan.setTenureInMonths(12);
+        loan.setAccount(account);
+        account.addLoan(loan);
+        customer.addAccount(account);
+        customerRepository.save(customer);
+        employeeRepository.save(employee);
+        accountRepository.save(account);
+        loanRepository.save(loan);
+        notificationService.createNotification(customer.getId(), NotificationType.INFO, "Welcome");
+        notificationService.createNotification(customer.getId(), NotificationType.ALERT, "Update your KYC");
+
+        mockMvc.perform(get(Endpoints.CUSTOMER_DASHBOARD)
+                .with(user(customer.getUsername()).roles(customer.getRole().toString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts.length()").value(1))
+                .andExpect(jsonPath("$.accounts[0].balance").value(2000.0))
+                .andExpect(jsonPath("$.totalBalance").value(2000.0))
+                .andExpect(jsonPath("$.loans[0].loanId").value(loan.getId()))
+                .andExpect(jsonPath("$.loans[0].outstandingAmount").value(12000.0))
+                .andExpect(jsonPath("$.totalEmi").value(loan.calculateEMI().doubleValue()))
+                .andExpect(jsonPath("$.unreadNotifications").value(2));
+    }
+
     @Test
     public void whenViewBalanceButCustomerDoesNotExist_ThenNotFound() throws Exception{
         Customer customer = createCustomer(108);
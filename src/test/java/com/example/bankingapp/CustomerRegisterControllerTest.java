@@ -1,9 +1,14 @@
 package com.example.bankingapp;
 
 import com.example.bankingapp.dto.customer.CustomerRequestDTO;
+import com.example.bankingapp.dto.login.LoginRequestDTO;
 import com.example.bankingapp.entities.baseentities.PersonGender;
 import com.example.bankingapp.entities.customer.Customer;
+import com.example.bankingapp.entities.employee.Employee;
+import com.example.bankingapp.entities.employee.EmployeeRole;
+import com.example.bankingapp.entities.employee.EmployeeStatus;
 import com.example.bankingapp.repository.CustomerRepository;
+import com.example.bankingapp.repository.EmployeeRepository;
 import com.example.bankingapp.utils.Endpoints;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -11,14 +16,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultMatcher;
 
 import java.time.LocalDate;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -30,13 +40,15 @@ public class CustomerRegisterControllerTest {
 
     private final MockMvc mockMvc;
     private final CustomerRepository customerRepository;
+    private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
 
     @Autowired
     public CustomerRegisterControllerTest(MockMvc mockMvc, CustomerRepository customerRepository,
-                                          PasswordEncoder passwordEncoder){
+                                          EmployeeRepository employeeRepository, PasswordEncoder passwordEncoder){
         this.mockMvc = mockMvc;
         this.customerRepository = customerRepository;
+        this.employeeRepository = employeeRepository;
         this.passwordEncoder = passwordEncoder;
     }
 
@@ -243,4 +255,81 @@ public class CustomerRegisterControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors.dateOfBirth").value("Invalid date. Please enter a valid date."));
     }
+
+    @Test
+    public void whenLoginWithLegacyHash_ThenTokenIssuedAndPasswordRehashed() throws Exception{
+        Customer customer = createCustomer(241);
+        customer.setPassword(new BCryptPasswordEncoder(4).encode("secret241"));
+        customerRepository.save(customer);
+
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO();
+        loginRequestDTO.setUsername(customer.getUsername());
+        loginRequestDTO.setPassword("secret241");
+
+        MvcResult result = mockMvc.perform(post(Endpoints.LOGIN)
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(loginRequestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(customer.getUsername()))
+                .andExpect(jsonPath("$.token").isNotEmpty());
+
+        String storedPassword = customerRepository.findById(customer.getId()).orElseThrow().getPassword();
+        assertTrue(storedPassword.startsWith("{bcrypt}"));
+        assertTrue(passwordEncoder.matches("secret241", storedPassword));
+    }
+
+    @Test
+    public void whenLoginWithWrongPassword_ThenUnauthorized() throws Exception{
+        Customer customer = createCustomer(242);
+        customerRepository.save(customer);
+
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO();
+        loginRequestDTO.setUsername(customer.getUsername());
+        loginRequestDTO.setPassword("not-the-password");
+
+        MvcResult result = mockMvc.perform(post(Endpoints.LOGIN)
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(loginRequestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid username or password"));
+    }
+
+    @Test
+    public void whenEmployeeLogin_ThenResolvedFromCredentialLookup() throws Exception{
+        Employee employee = new Employee();
+        employee.setName("Parth 100 William");
+        employee.setUsername("parth110023");
+        employee.setPassword(passwordEncoder.encode("secret100"));
+        employee.setEmail("pa100rth@example.com");
+        employee.setGender(PersonGender.MALE);
+        employee.setAddress("Mars100");
+        employee.setDateOfBirth(LocalDate.of(2100, 1, 1));
+        employee.setPhoneNumber("1234123100");
+        employee.setEmployeeRole(EmployeeRole.TELLER);
+        employee.setEmployeeStatus(EmployeeStatus.ACTIVE);
+        employeeRepository.save(employee);
+
+        LoginRequestDTO loginRequestDTO = new LoginRequestDTO();
+        loginRequestDTO.setUsername(employee.getUsername());
+        loginRequestDTO.setPassword("secret100");
+
+        MvcResult result = mockMvc.perform(post(Endpoints.LOGIN)
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(loginRequestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value(employee.getUsername()))
+                .andExpect(jsonPath("$.role").value("EMPLOYEE"));
+    }
 }
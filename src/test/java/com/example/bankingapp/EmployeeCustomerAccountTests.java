@@ -27,16 +27,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -56,6 +59,7 @@ public class EmployeeCustomerAccountTests {
     private final EmployeeRepository employeeRepository;
     private final TransactionRepository transactionRepository;
     private final NotificationRepository notificationRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
     public EmployeeCustomerAccountTests(MockMvc mockMvc,
@@ -66,7 +70,8 @@ public class EmployeeCustomerAccountTests {
                                         CustomerRepository customerRepository,
                                         EmployeeRepository employeeRepository,
                                         TransactionRepository transactionRepository,
-                                        NotificationRepository notificationRepository) {
+                                        NotificationRepository notificationRepository,
+                                        JdbcTemplate jdbcTemplate) {
         this.mockMvc = mockMvc;
         this.objectMapper = objectMapper;
         this.loanRepository = loanRepository;
@@ -76,6 +81,7 @@ public class EmployeeCustomerAccountTests {
         this.employeeRepository = employeeRepository;
         this.transactionRepository = transactionRepository;
         this.notificationRepository = notificationRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     private Customer createCustomer(int num) {
@@ -104,6 +110,7 @@ public class EmployeeCustomerAccountTests {
 
     private Employee createEmployee(int num) {
         String i = "0" + num;
+        if (num >= 100) i = "" + num;
         Employee employee = new Employee();
         employee.setName("Parth " + i + " William");
         employee.setUsername("parth1" + i + "23");
@@ -199,6 +206,81 @@ public class EmployeeCustomerAccountTests {
                 .andExpect(jsonPath("$.statusCode").value(HttpStatus.UNAUTHORIZED.value()));
     }
 
+    @Test
+    public void whenEmployeeDeactivatedAfterResolved_ThenCachedPrincipalIsEvicted() throws Exception {
+        Customer customer = createCustomer(240);
+        Account account = createAccount();
+        customer.addAccount(account);
+        customerRepository.save(customer);
+        accountRepository.save(account);
+
+        Employee employee = createEmployee(99);
+        employeeRepository.save(employee);
+
+        mockMvc.perform(get(Endpoints.EMPLOYEE_ACCOUNTS_ALL, customer.getId())
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString())))
+                .andExpect(status().isOk());
+
+        employee.setEmployeeStatus(EmployeeStatus.INACTIVE);
+        employeeRepository.save(employee);
+
+        mockMvc.perform(get(Endpoints.EMPLOYEE_ACCOUNTS_ALL, customer.getId())
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString())))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Your status is currently not active. Please contact the admin."));
+    }
+
+    @Test
+    public void whenEmployeeSuspendedOutsideJpa_ThenDepositRechecksStatus() throws Exception {
+        Customer customer = createCustomer(254);
+        Account account = createAccount();
+        customer.addAccount(account);
+        customerRepository.save(customer);
+        accountRepository.save(account);
+
+        Employee employee = createEmployee(103);
+        employeeRepository.save(employee);
+
+        mockMvc.perform(get(Endpoints.EMPLOYEE_ACCOUNTS_ALL, customer.getId())
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString())))
+                .andExpect(status().isOk());
+
+        jdbcTemplate.update("UPDATE employees SET status = 'SUSPENDED' WHERE id = ?", employee.getId());
+
+        mockMvc.perform(post(Endpoints.EMPLOYEE_ACCOUNT_DEPOSIT, account.getId())
+                        .param("fund", "2000")
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString())))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Your status is currently not active. Please contact the admin."));
+    }
+
+    @Test
+    public void whenEmployeeSuspendedOutsideJpa_ThenWithdrawalRechecksStatus() throws Exception {
+        Customer customer = createCustomer(259);
+        Account account = createAccount();
+        account.setBalance(BigDecimal.valueOf(5000));
+        customer.addAccount(account);
+        customerRepository.save(customer);
+        accountRepository.save(account);
+
+        Employee employee = createEmployee(106);
+        employeeRepository.save(employee);
+
+        mockMvc.perform(get(Endpoints.EMPLOYEE_ACCOUNTS_ALL, customer.getId())
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString())))
+                .andExpect(status().isOk());
+
+        jdbcTemplate.update("UPDATE employees SET status = 'SUSPENDED' WHERE id = ?", employee.getId());
+
+        mockMvc.perform(post(Endpoints.EMPLOYEE_ACCOUNT_WITHDRAWAL, account.getId())
+                        .param("fund", "2000")
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString())))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Your status is currently not active. Please contact the admin."));
+
+        assertEquals(0, BigDecimal.valueOf(5000).compareTo(accountRepository.findById(account.getId()).orElseThrow().getBalance()));
+    }
+
     @Test
     public void whenViewAllAccountsWithCustomerDoesNotExist_ThenCustomerNotFound() throws Exception {
         Customer customer = new Customer();
@@ -900,13 +982,15 @@ public class EmployeeCustomerAccountTests {
                 .andExpect(jsonPath("$.fromAccountId").doesNotExist())
                 .andExpect(jsonPath("$.dateOfTransaction").value(LocalDateTime.now().format(DateTimeFormatter.ofPattern(Constants.LocalDateTimePattern))))
                 .andExpect(jsonPath("$.transactionType").value(TransactionType.DEPOSIT.toString()))
-                .andExpect(jsonPath("$.transactionStatus").value(TransactionStatus.SUCCESS.toString()));
+                .andExpect(jsonPath("$.transactionStatus").value(TransactionStatus.SUCCESS.toString()))
+                .andExpect(jsonPath("$.balanceAfter").value(2000.0));
 
         Account updatedAccount = accountRepository.findById(account.getId()).orElseThrow();
         assertEquals(0, updatedAccount.getBalance().compareTo(BigDecimal.valueOf(2000)));
 
         Specification<Notification> specs = NotificationSpecifications.forCustomer(customer);
-        assertEquals(1, notificationRepository.findAll(specs).size());
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertEquals(1, notificationRepository.findAll(specs).size()));
     }
 
     @Test
@@ -1076,13 +1160,15 @@ public class EmployeeCustomerAccountTests {
                 .andExpect(jsonPath("$.toAccountId").doesNotExist())
                 .andExpect(jsonPath("$.dateOfTransaction").value(LocalDateTime.now().format(DateTimeFormatter.ofPattern(Constants.LocalDateTimePattern))))
                 .andExpect(jsonPath("$.transactionType").value(TransactionType.WITHDRAWAL.toString()))
-                .andExpect(jsonPath("$.transactionStatus").value(TransactionStatus.SUCCESS.toString()));
+                .andExpect(jsonPath("$.transactionStatus").value(TransactionStatus.SUCCESS.toString()))
+                .andExpect(jsonPath("$.balanceAfter").value(3000.0));
 
         Account updatedAccount = accountRepository.findById(account.getId()).orElseThrow();
         assertEquals(0, updatedAccount.getBalance().compareTo(BigDecimal.valueOf(3000)));
 
         Specification<Notification> specs = NotificationSpecifications.forCustomer(customer);
-        assertEquals(1, notificationRepository.findAll(specs).size());
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertEquals(1, notificationRepository.findAll(specs).size()));
     }
 
     @Test
@@ -0,0 +1,22 @@
+package com.example.bankingapp;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayTestConfig {
+    @Bean
+    public FlywayConfigurationCustomizer cleanEnabledCustomizer(){
+        return configuration -> configuration.cleanDisabled(false);
+    }
+
+    @Bean
+    public FlywayMigrationStrategy cleanMigrateStrategy(){
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
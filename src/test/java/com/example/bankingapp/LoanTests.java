@@ -18,6 +18,7 @@ import com.example.bankingapp.entities.transaction.Transaction;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
 import com.example.bankingapp.entities.transaction.TransactionType;
 import com.example.bankingapp.repository.*;
+import com.example.bankingapp.service.LoanDefaultService;
 import com.example.bankingapp.specification.NotificationSpecifications;
 import com.example.bankingapp.utils.Endpoints;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -27,16 +28,28 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -58,6 +71,9 @@ public class LoanTests {
     private final EmployeeRepository employeeRepository;
     private final TransactionRepository transactionRepository;
     private final NotificationRepository notificationRepository;
+    private final LoanDefaultService loanDefaultService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
 
     @Autowired
@@ -69,7 +85,10 @@ public class LoanTests {
                      CustomerRepository customerRepository,
                      EmployeeRepository employeeRepository,
                      TransactionRepository transactionRepository,
-                     NotificationRepository notificationRepository){
+                     NotificationRepository notificationRepository,
+                     LoanDefaultService loanDefaultService,
+                     JdbcTemplate jdbcTemplate,
+                     PlatformTransactionManager transactionManager){
         this.mockMvc = mockMvc;
         this.objectMapper = objectMapper;
         this.loanRepository = loanRepository;
@@ -79,6 +98,9 @@ public class LoanTests {
         this.employeeRepository = employeeRepository;
         this.transactionRepository = transactionRepository;
         this.notificationRepository = notificationRepository;
+        this.loanDefaultService = loanDefaultService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     private Customer createCustomer(int num) {
@@ -329,6 +351,75 @@ public class LoanTests {
                 .andExpect(jsonPath("$.statusCode").value(HttpStatus.CONFLICT.value()));
     }
 
+    @Test
+    public void whenMarkDefaulted_ThenLoansPastGraceDefaulted() {
+        Customer customer = createCustomer(COUNT + 77);
+        Account account = createAccount();
+        customer.addAccount(account);
+        Loan longOverdue = createLoan();
+        longOverdue.setDateOfIssuance(LocalDate.of(2000, 12, 31));
+        account.addLoan(longOverdue);
+        Loan recentlyOverdue = createLoan();
+        recentlyOverdue.setDateOfIssuance(LocalDate.now().minusMonths(60).minusDays(10));
+        account.addLoan(recentlyOverdue);
+        customerRepository.save(customer);
+        accountRepository.save(account);
+        loanRepository.saveAll(List.of(longOverdue, recentlyOverdue));
+
+        assertTrue(loanDefaultService.markDefaulted(LocalDate.now()) >= 1);
+
+        assertEquals(LoanStatus.DEFAULTED, loanRepository.findById(longOverdue.getId()).orElseThrow().getLoanStatus());
+        assertEquals(LoanStatus.DISBURSED, loanRepository.findById(recentlyOverdue.getId()).orElseThrow().getLoanStatus());
+        assertTrue(loanRepository.existsOverdueByAccountId(account.getId(), LocalDate.now()));
+    }
+
+    @Test
+    public void whenLoanClosedWhileMarkingDefaulted_ThenStaysClosed() throws Exception {
+        Customer customer = createCustomer(COUNT + 86);
+        Account account = createAccount();
+        customer.addAccount(account);
+        Loan loan = createLoan();
+        loan.setDateOfIssuance(LocalDate.of(2000, 12, 31));
+        account.addLoan(loan);
+        customerRepository.save(customer);
+        accountRepository.save(account);
+        loanRepository.save(loan);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<Future<Long>> run = new AtomicReference<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE loans SET status = 'CLOSED' WHERE id = ?", loan.getId());
+            run.set(executor.submit(() -> loanDefaultService.markDefaulted(LocalDate.now())));
+            await().atMost(Duration.ofSeconds(10)).until(() -> jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM pg_stat_activity
+                    WHERE wait_event_type = 'Lock' AND query LIKE '%SET status = ''DEFAULTED''%'
+                    """, Integer.class) > 0);
+        });
+        run.get().get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(LoanStatus.CLOSED, loanRepository.findById(loan.getId()).orElseThrow().getLoanStatus());
+    }
+
+    @Test
+    public void whenReadOutstandingInTransaction_ThenAmortizationNotWritten() {
+        Customer customer = createCustomer(COUNT + 80);
+        Account account = createAccount();
+        customer.addAccount(account);
+        Loan loan = createLoan();
+        account.addLoan(loan);
+        customerRepository.save(customer);
+        accountRepository.save(account);
+        loanRepository.save(loan);
+        jdbcTemplate.update("UPDATE loans SET amortized_balance = NULL, amortized_months = NULL WHERE id = ?", loan.getId());
+
+        BigDecimal outstanding = transactionTemplate.execute(status ->
+                loanRepository.findById(loan.getId()).orElseThrow().getOutstandingAmount());
+
+        assertTrue(outstanding.signum() > 0);
+        assertNull(jdbcTemplate.queryForObject("SELECT amortized_balance FROM loans WHERE id = ?", BigDecimal.class, loan.getId()));
+    }
+
     @Test
     public void whenGetAllLoans_ThenOk() throws Exception{
         Customer customer = createCustomer(COUNT + 8);
@@ -438,13 +529,45 @@ public class LoanTests {
                 .andExpect(jsonPath("$.loanId").value(loan.getId()))
                 .andExpect(jsonPath("$.failureReason").isEmpty())
                 .andExpect(jsonPath("$.transactionStatus").value(TransactionStatus.SUCCESS.toString()))
-                .andExpect(jsonPath("$.transactionType").value(TransactionType.LOAN_REPAYMENT.toString()));
+                .andExpect(jsonPath("$.transactionType").value(TransactionType.LOAN_REPAYMENT.toString()))
+                .andExpect(jsonPath("$.balanceAfter").value(account.getBalance().subtract(repay.getAmount()).doubleValue()));
 
         Account newAccount = accountRepository.findById(account.getId()).orElseThrow();
         assertEquals(0, account.getBalance().subtract(repay.getAmount()).compareTo(newAccount.getBalance()));
 
         Specification<Notification> specs = NotificationSpecifications.forCustomer(customer);
-        assertEquals(1, notificationRepository.findAll(specs).size());
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertEquals(1, notificationRepository.findAll(specs).size()));
+    }
+
+    @Test
+    public void whenDisburseLoan_ThenOk() throws Exception{
+        Customer customer = createCustomer(COUNT + 83);
+        Account account = createAccount();
+        customer.addAccount(account);
+        Loan loan = createLoan();
+        loan.setLoanStatus(LoanStatus.APPROVED);
+        account.addLoan(loan);
+        customerRepository.save(customer);
+        accountRepository.save(account);
+        loanRepository.save(loan);
+
+        Employee employee = createEmployee(EMP + 26);
+        employeeRepository.save(employee);
+
+        mockMvc.perform(post(Endpoints.EMPLOYEE_LOANS_DISBURSE, loan.getId())
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactionId").exists())
+                .andExpect(jsonPath("$.toAccountId").value(account.getId()))
+                .andExpect(jsonPath("$.loanId").value(loan.getId()))
+                .andExpect(jsonPath("$.transactionStatus").value(TransactionStatus.SUCCESS.toString()))
+                .andExpect(jsonPath("$.transactionType").value(TransactionType.LOAN_DISBURSEMENT.toString()))
+                .andExpect(jsonPath("$.balanceAfter").value(account.getBalance().add(loan.getPrincipalAmount()).doubleValue()));
+
+        Account newAccount = accountRepository.findById(account.getId()).orElseThrow();
+        assertEquals(0, account.getBalance().add(loan.getPrincipalAmount()).compareTo(newAccount.getBalance()));
+        assertEquals(LoanStatus.DISBURSED, loanRepository.findById(loan.getId()).orElseThrow().getLoanStatus());
     }
 
     @Test
@@ -1441,4 +1564,38 @@ public class LoanTests {
                 .andExpect(jsonPath("$.message").value("Your status is currently not active. Please contact the admin."))
                 .andExpect(jsonPath("$.statusCode").value(HttpStatus.UNAUTHORIZED.value()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenRepaymentsAppliedIncrementally_ThenOutstandingMatchesFullReplay() {
+        LocalDate issuance = LocalDate.now().minusMonths(120);
+        Loan incremental = createLoan();
+        incremental.setTenureInMonths(120);
+        incremental.setPrincipalAmount(BigDecimal.valueOf(200000));
+        incremental.setDateOfIssuance(issuance);
+        incremental.rollAmortizationForward(issuance);
+
+        Loan replayed = createLoan();
+        replayed.setTenureInMonths(120);
+        replayed.setPrincipalAmount(BigDecimal.valueOf(200000));
+        replayed.setDateOfIssuance(null);
+
+        BigDecimal emi = incremental.calculateEMI();
+        for(int month = 0; month < 120; month++){
+            BigDecimal amount = month % 7 == 0 ? emi.divide(BigDecimal.valueOf(2)) : emi;
+            for(Loan loan : List.of(incremental, replayed)){
+                Transaction transaction = new Transaction();
+                transaction.setTransactionType(TransactionType.LOAN_REPAYMENT);
+                transaction.setTransactionStatus(TransactionStatus.SUCCESS);
+                transaction.setAmount(amount);
+                transaction.setDateOfTransaction(issuance.plusMonths(month).atTime(10, 0));
+                loan.addTransaction(transaction);
+            }
+        }
+        replayed.setDateOfIssuance(issuance);
+
+        assertEquals(0, replayed.getOutstandingAmount().compareTo(incremental.getOutstandingAmount()));
+
+        incremental.rollAmortizationForward(LocalDate.now());
+        assertEquals(0, replayed.getOutstandingAmount().compareTo(incremental.getOutstandingAmount()));
+    }
+}
@@ -3,27 +3,43 @@ package com.example.bankingapp;
 import com.example.bankingapp.entities.baseentities.PersonGender;
 import com.example.bankingapp.entities.customer.Customer;
 import com.example.bankingapp.entities.notification.Notification;
+import com.example.bankingapp.entities.notification.NotificationEvent;
+import com.example.bankingapp.entities.notification.NotificationEventType;
 import com.example.bankingapp.entities.notification.NotificationStatus;
 import com.example.bankingapp.entities.notification.NotificationType;
 import com.example.bankingapp.repository.CustomerRepository;
+import com.example.bankingapp.repository.NotificationEventRepository;
 import com.example.bankingapp.repository.NotificationRepository;
+import com.example.bankingapp.service.NotificationDispatcher;
 import com.example.bankingapp.service.NotificationService;
 import com.example.bankingapp.specification.NotificationSpecifications;
 import com.example.bankingapp.utils.Endpoints;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -38,18 +54,30 @@ public class NotificationsTests{
     private final CustomerRepository customerRepository;
     private final NotificationService notificationService;
     private final NotificationRepository notificationRepository;
+    private final NotificationEventRepository notificationEventRepository;
+    private final NotificationDispatcher notificationDispatcher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
     public NotificationsTests(MockMvc mockMvc,
                               PasswordEncoder passwordEncoder,
                               CustomerRepository customerRepository,
                               NotificationService notificationService,
-                              NotificationRepository notificationRepository){
+                              NotificationRepository notificationRepository,
+                              NotificationEventRepository notificationEventRepository,
+                              NotificationDispatcher notificationDispatcher,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager){
         this.mockMvc = mockMvc;
         this.passwordEncoder = passwordEncoder;
         this.customerRepository = customerRepository;
         this.notificationService = notificationService;
         this.notificationRepository = notificationRepository;
+        this.notificationEventRepository = notificationEventRepository;
+        this.notificationDispatcher = notificationDispatcher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     private Customer createCustomer(int num) {
@@ -201,6 +229,85 @@ public class NotificationsTests{
         updatedList.forEach(notification -> assertEquals(NotificationStatus.READ, notification.getNotificationStatus()));
     }
 
+    @Test
+    public void whenReadAllNotificationsByWatermark_ThenUnreadCountReset() throws Exception{
+        Customer customer = createCustomer(251);
+        customerRepository.save(customer);
+        for(int i = 0; i < 3; i++){
+            notificationService.createNotification(customer, NotificationType.INFO, "Hello, " + i);
+        }
+        mockMvc.perform(get(Endpoints.NOTIFICATIONS_UNREAD_COUNT)
+                .with(user(customer.getUsername()).roles(customer.getRole().toString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unreadNotifications").value(3));
+
+        Notification first = notificationRepository.findAll(NotificationSpecifications.forCustomer(customer)).get(0);
+        mockMvc.perform(get(Endpoints.NOTIFICATION_PARTICULAR, first.getId())
+                .with(user(customer.getUsername()).roles(customer.getRole().toString())))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(Endpoints.NOTIFICATIONS_UNREAD_COUNT)
+                .with(user(customer.getUsername()).roles(customer.getRole().toString())))
+                .andExpect(jsonPath("$.unreadNotifications").value(2));
+
+        mockMvc.perform(put(Endpoints.NOTIFICATION_READ_ALL)
+                .with(user(customer.getUsername()).roles(customer.getRole().toString()))
+                .param("mode", "WATERMARK"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get(Endpoints.NOTIFICATIONS_UNREAD_COUNT)
+                .with(user(customer.getUsername()).roles(customer.getRole().toString())))
+                .andExpect(jsonPath("$.unreadNotifications").value(0))
+                .andExpect(jsonPath("$.lastReadAt").exists());
+        assertEquals(2, notificationRepository.findAll(NotificationSpecifications.forCustomer(customer)).stream()
+                .filter(Notification::isUnread).count());
+        mockMvc.perform(get(Endpoints.NOTIFICATIONS_ALL)
+                .with(user(customer.getUsername()).roles(customer.getRole().toString()))
+                .param("status", "UNREAD"))
+                .andExpect(jsonPath("$.content.length()").value(0));
+
+        notificationService.createNotification(customer, NotificationType.ALERT, "After the watermark");
+        mockMvc.perform(get(Endpoints.NOTIFICATIONS_UNREAD_COUNT)
+                .with(user(customer.getUsername()).roles(customer.getRole().toString())))
+                .andExpect(jsonPath("$.unreadNotifications").value(1));
+    }
+
+    @Test
+    public void whenEventDispatchedAfterWatermark_ThenStillUnread() throws Exception{
+        Customer customer = createCustomer(261);
+        customerRepository.save(customer);
+        NotificationEvent event = notificationEventRepository.save(new NotificationEvent(NotificationEventType.DEPOSIT,
+                customer.getId(), BigDecimal.valueOf(500), LocalDateTime.now().minusHours(1)));
+
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> outbox = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM notification_outbox WHERE id = ? FOR UPDATE", event.getId());
+            held.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(held.await(10, TimeUnit.SECONDS));
+
+        mockMvc.perform(put(Endpoints.NOTIFICATION_READ_ALL)
+                .with(user(customer.getUsername()).roles(customer.getRole().toString()))
+                .param("mode", "WATERMARK"))
+                .andExpect(status().isNoContent());
+        release.countDown();
+        outbox.join();
+        notificationDispatcher.dispatchPending();
+
+        mockMvc.perform(get(Endpoints.NOTIFICATIONS_UNREAD_COUNT)
+                .with(user(customer.getUsername()).roles(customer.getRole().toString())))
+                .andExpect(jsonPath("$.unreadNotifications").value(1));
+        mockMvc.perform(get(Endpoints.NOTIFICATIONS_ALL)
+                .with(user(customer.getUsername()).roles(customer.getRole().toString()))
+                .param("status", "UNREAD"))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].notificationStatus").value(NotificationStatus.UNREAD.toString()));
+    }
+
     @Test
     public void whenReadAllNotifications_InvalidCustomer_ThenNotFound() throws Exception{
         mockMvc.perform(put(Endpoints.NOTIFICATION_READ_ALL)
@@ -210,4 +317,37 @@ public class NotificationsTests{
                 .andExpect(jsonPath("$.statusCode").value(HttpStatus.NOT_FOUND.value()));
 
     }
+
+    @Test
+    public void whenGetNotificationsByCursor_ThenEveryNotificationReturnedOnce() throws Exception{
+        Customer customer = createCustomer(236);
+        customerRepository.save(customer);
+        List<Notification> notifications = new ArrayList<>();
+        for(int i = 0; i < 25; i++){
+            notifications.add(createNotification(customer, "Cursor notification " + i));
+        }
+        notificationRepository.saveAll(notifications);
+
+        Set<Integer> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do{
+            var request = get(Endpoints.NOTIFICATIONS_CURSOR)
+                    .with(user(customer.getUsername()).roles(customer.getRole().toString()))
+                    .param("size", "10");
+            if(cursor != null) request.param("cursor", cursor);
+
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString();
+            List<Integer> ids = JsonPath.read(body, "$.content[*].notificationId");
+            ids.forEach(id -> assertTrue(seen.add(id)));
+            cursor = JsonPath.read(body, "$.nextCursor");
+            pages++;
+        } while(cursor != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(3, pages);
+    }
 }
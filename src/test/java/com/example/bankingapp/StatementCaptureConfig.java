@@ -0,0 +1,44 @@
+package com.example.bankingapp;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class StatementCaptureConfig {
+    @Bean
+    public StatementCapture statementCapture(){
+        return new StatementCapture();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(StatementCapture statementCapture){
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCapture);
+    }
+
+    public static class StatementCapture implements StatementInspector {
+        private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+        public void start(){
+            captured.set(new ArrayList<>());
+        }
+
+        public List<String> stop(){
+            List<String> statements = captured.get();
+            captured.remove();
+            return statements;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = captured.get();
+            if(statements != null) statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.bankingapp;
 
 import com.example.bankingapp.dto.transaction.TransactionRequestDTO;
+import com.example.bankingapp.dto.transaction.TransactionSummaryView;
 import com.example.bankingapp.entities.account.Account;
+import com.example.bankingapp.entities.account.AccountDailyLimitId;
 import com.example.bankingapp.entities.account.AccountStatus;
 import com.example.bankingapp.entities.account.AccountType;
 import com.example.bankingapp.entities.baseentities.PersonGender;
@@ -10,31 +12,68 @@ import com.example.bankingapp.entities.employee.Employee;
 import com.example.bankingapp.entities.employee.EmployeeRole;
 import com.example.bankingapp.entities.employee.EmployeeStatus;
 import com.example.bankingapp.entities.notification.Notification;
+import com.example.bankingapp.entities.notification.NotificationStatus;
+import com.example.bankingapp.entities.notification.NotificationType;
 import com.example.bankingapp.entities.transaction.Transaction;
 import com.example.bankingapp.entities.transaction.TransactionStatus;
 import com.example.bankingapp.entities.transaction.TransactionType;
 import com.example.bankingapp.repository.*;
+import com.example.bankingapp.service.DailyLimitService;
+import com.example.bankingapp.service.IdempotencyService;
+import com.example.bankingapp.service.OperationMetrics;
+import com.example.bankingapp.service.TransactionService;
 import com.example.bankingapp.specification.NotificationSpecifications;
+import com.example.bankingapp.specification.TransactionSpecifications;
 import com.example.bankingapp.utils.Endpoints;
+import com.example.bankingapp.utils.PageLimits;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.regex.Pattern;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -49,6 +88,14 @@ public class TransactionTests {
     private final EmployeeRepository employeeRepository;
     private final TransactionRepository transactionRepository;
     private final NotificationRepository notificationRepository;
+    private final TransactionService transactionService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private final AccountDailyLimitRepository accountDailyLimitRepository;
+    private final StatementCaptureConfig.StatementCapture statementCapture;
+    private final DailyLimitService dailyLimitService;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
     public TransactionTests(MockMvc mockMvc,
@@ -58,7 +105,15 @@ public class TransactionTests {
                             CustomerRepository customerRepository,
                             EmployeeRepository employeeRepository,
                             TransactionRepository transactionRepository,
-                            NotificationRepository notificationRepository) {
+                            NotificationRepository notificationRepository,
+                            TransactionService transactionService,
+                            EntityManagerFactory entityManagerFactory,
+                            MeterRegistry meterRegistry,
+                            AccountDailyLimitRepository accountDailyLimitRepository,
+                            StatementCaptureConfig.StatementCapture statementCapture,
+                            DailyLimitService dailyLimitService,
+                            PlatformTransactionManager transactionManager,
+                            JdbcTemplate jdbcTemplate) {
         this.mockMvc = mockMvc;
         this.objectMapper = objectMapper;
         this.passwordEncoder = passwordEncoder;
@@ -67,6 +122,28 @@ public class TransactionTests {
         this.employeeRepository = employeeRepository;
         this.transactionRepository = transactionRepository;
         this.notificationRepository = notificationRepository;
+        this.transactionService = transactionService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+        this.accountDailyLimitRepository = accountDailyLimitRepository;
+        this.statementCapture = statementCapture;
+        this.dailyLimitService = dailyLimitService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private long transferTimerCount(String outcome) {
+        Timer timer = meterRegistry.find(OperationMetrics.OPERATION_TIMER)
+                .tags("operation", "transfer", "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long transferTimerCount(String outcome, OperationMetrics.FailureCode reason) {
+        Timer timer = meterRegistry.find(OperationMetrics.OPERATION_TIMER)
+                .tags("operation", "transfer", "outcome", outcome, "reason", reason.tag())
+                .timer();
+        return timer == null ? 0 : timer.count();
     }
 
     private Customer createCustomer(int num) {
@@ -148,6 +225,7 @@ public class TransactionTests {
 
         TransactionRequestDTO requestDTO = createTransactionRequestDTO(fromAccount, toAccount);
         String request = objectMapper.writeValueAsString(requestDTO);
+        long successfulTransfers = transferTimerCount("success");
 
         mockMvc.perform(post(Endpoints.TRANSACTIONS_CUSTOMER_TRANSFER)
                         .with(user(fromCustomer.getUsername()).roles(fromCustomer.getRole().toString()))
@@ -160,15 +238,17 @@ public class TransactionTests {
                 .andExpect(jsonPath("$.amount").value(requestDTO.getAmount().toString()))
                 .andExpect(jsonPath("$.transactionStatus").value(TransactionStatus.SUCCESS.toString()))
                 .andExpect(jsonPath("$.transactionType").value(requestDTO.getTransactionType().toString()))
-                .andExpect(jsonPath("$.failureReason").doesNotExist());
+                .andExpect(jsonPath("$.failureReason").doesNotExist())
+                .andExpect(jsonPath("$.balanceAfter").value(3000.0));
+        assertTrue(transferTimerCount("success") > successfulTransfers);
 
         Specification<Notification> fromSpec = NotificationSpecifications.forCustomer(fromCustomer);
-        List<Notification> fromNotifications = notificationRepository.findAll(fromSpec);
         Specification<Notification> toSpec = NotificationSpecifications.forCustomer(toCustomer);
-        List<Notification> toNotifications = notificationRepository.findAll(toSpec);
 
-        assertEquals(1, fromNotifications.size());
-        assertEquals(1, toNotifications.size());
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertEquals(1, notificationRepository.findAll(fromSpec).size());
+            assertEquals(1, notificationRepository.findAll(toSpec).size());
+        });
     }
 
     @Test
@@ -363,6 +443,19 @@ public class TransactionTests {
                 .andExpect(jsonPath("$.statusCode").value(HttpStatus.BAD_REQUEST.value()));
     }
 
+    @Test
+    public void whenScrapingPrometheus_ThenEmployeeRoleRequired() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")
+                        .with(user("rudra1scraper").roles("CUSTOMER")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/prometheus")
+                        .with(user("parth1scraper").roles("EMPLOYEE")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")));
+    }
+
     @Test
     public void whenTransferFund_InsufficientBalance_ThenFailure() throws Exception {
         Customer fromCustomer = createCustomer(131);
@@ -377,6 +470,7 @@ public class TransactionTests {
 
         TransactionRequestDTO requestDTO = createTransactionRequestDTO(fromAccount, toAccount);
         String request = objectMapper.writeValueAsString(requestDTO);
+        long insufficientBalanceTransfers = transferTimerCount("failed", OperationMetrics.FailureCode.INSUFFICIENT_BALANCE);
 
         mockMvc.perform(post(Endpoints.TRANSACTIONS_CUSTOMER_TRANSFER)
                         .with(user(fromCustomer.getUsername()).roles(fromCustomer.getRole().toString()))
@@ -387,6 +481,43 @@ public class TransactionTests {
                 .andExpect(jsonPath("$.toAccountId").value(toAccount.getId()))
                 .andExpect(jsonPath("$.failureReason").value(("Insufficient balance.")))
                 .andExpect(jsonPath("$.transactionStatus").value(TransactionStatus.FAILED.toString()));
+        assertTrue(transferTimerCount("failed", OperationMetrics.FailureCode.INSUFFICIENT_BALANCE) > insufficientBalanceTransfers);
+
+        BigDecimal debitTotal = accountDailyLimitRepository.findById(new AccountDailyLimitId(fromAccount.getId(), LocalDate.now()))
+                .orElseThrow()
+                .getDebitTotal();
+        assertEquals(0, debitTotal.compareTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    public void whenDailyUsageSeededWhileAnotherDebitCommits_ThenNotCountedTwice() {
+        Customer customer = createCustomer(260);
+        Account account = createAccount();
+        account.setBalance(BigDecimal.valueOf(100000));
+        customer.addAccount(account);
+        customerRepository.save(customer);
+        accountRepository.save(account);
+        Long accountId = account.getId();
+
+        CompletableFuture<Boolean> concurrentDebit = new CompletableFuture<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    concurrentDebit.complete(CompletableFuture.supplyAsync(() -> transactionTemplate.execute(
+                            s -> dailyLimitService.tryDebit(accountId, BigDecimal.valueOf(20000)))).join());
+                }
+            });
+            assertTrue(dailyLimitService.tryDebit(accountId, BigDecimal.valueOf(20000)));
+        });
+        assertTrue(concurrentDebit.join());
+
+        assertEquals(Boolean.TRUE, transactionTemplate.execute(
+                status -> dailyLimitService.tryDebit(accountId, BigDecimal.valueOf(5000))));
+        BigDecimal debitTotal = accountDailyLimitRepository.findById(new AccountDailyLimitId(accountId, LocalDate.now()))
+                .orElseThrow()
+                .getDebitTotal();
+        assertEquals(0, debitTotal.compareTo(BigDecimal.valueOf(45000)));
     }
 
     @Test
@@ -596,12 +727,251 @@ public class TransactionTests {
                 .andExpect(jsonPath("$.failureReason").doesNotExist());
 
         Specification<Notification> fromSpec = NotificationSpecifications.forCustomer(fromCustomer);
-        List<Notification> fromNotifications = notificationRepository.findAll(fromSpec);
         Specification<Notification> toSpec = NotificationSpecifications.forCustomer(toCustomer);
-        List<Notification> toNotifications = notificationRepository.findAll(toSpec);
 
-        assertEquals(1, fromNotifications.size());
-        assertEquals(1, toNotifications.size());
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertEquals(1, notificationRepository.findAll(fromSpec).size());
+            assertEquals(1, notificationRepository.findAll(toSpec).size());
+        });
+    }
+
+    @Test
+    public void whenTransferFundRetriedWithIdempotencyKey_ThenReplayed() throws Exception {
+        Customer fromCustomer = createCustomer(246);
+        Customer toCustomer = createCustomer(247);
+        Account fromAccount = createAccount();
+        fromAccount.setBalance(BigDecimal.valueOf(5000));
+        Account toAccount = createAccount();
+        fromCustomer.addAccount(fromAccount);
+        toCustomer.addAccount(toAccount);
+        customerRepository.saveAll(List.of(fromCustomer, toCustomer));
+        accountRepository.saveAll(List.of(fromAccount, toAccount));
+
+        TransactionRequestDTO requestDTO = createTransactionRequestDTO(fromAccount, toAccount);
+        String request = objectMapper.writeValueAsString(requestDTO);
+        String idempotencyKey = "transfer-" + fromAccount.getId() + "-" + toAccount.getId();
+
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> responses = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            responses.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(post(Endpoints.TRANSACTIONS_CUSTOMER_TRANSFER)
+                                .with(user(fromCustomer.getUsername()).roles(fromCustomer.getRole().toString()))
+                                .header(IdempotencyService.HEADER, idempotencyKey)
+                                .contentType("application/json")
+                                .content(request))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString();
+            }));
+        }
+        start.countDown();
+        Set<Integer> transactionIds = new HashSet<>();
+        for (Future<String> response : responses) {
+            transactionIds.add(JsonPath.read(response.get(30, TimeUnit.SECONDS), "$.transactionId"));
+        }
+        executor.shutdown();
+
+        assertEquals(1, transactionIds.size());
+        assertEquals(0, BigDecimal.valueOf(3000).compareTo(accountRepository.findById(fromAccount.getId()).orElseThrow().getBalance()));
+
+        mockMvc.perform(post(Endpoints.TRANSACTIONS_CUSTOMER_TRANSFER)
+                        .with(user(fromCustomer.getUsername()).roles(fromCustomer.getRole().toString()))
+                        .header(IdempotencyService.HEADER, idempotencyKey)
+                        .contentType("application/json")
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.transactionId").value(transactionIds.iterator().next()))
+                .andExpect(jsonPath("$.balanceAfter").value(3000.0));
+
+        requestDTO.setAmount(BigDecimal.valueOf(100));
+        mockMvc.perform(post(Endpoints.TRANSACTIONS_CUSTOMER_TRANSFER)
+                        .with(user(fromCustomer.getUsername()).roles(fromCustomer.getRole().toString()))
+                        .header(IdempotencyService.HEADER, idempotencyKey)
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void whenBulkTransferByEmployee_ThenSettledPerItem() throws Exception {
+        Customer fromCustomer = createCustomer(243);
+        Customer toCustomer = createCustomer(244);
+        Account fromAccount = createAccount();
+        fromAccount.setBalance(BigDecimal.valueOf(5000));
+        Account toAccount = createAccount();
+        fromCustomer.addAccount(fromAccount);
+        toCustomer.addAccount(toAccount);
+        customerRepository.saveAll(List.of(fromCustomer, toCustomer));
+        accountRepository.saveAll(List.of(fromAccount, toAccount));
+
+        TransactionRequestDTO first = createTransactionRequestDTO(fromAccount, toAccount);
+        TransactionRequestDTO second = createTransactionRequestDTO(fromAccount, toAccount);
+        TransactionRequestDTO overdrawn = createTransactionRequestDTO(fromAccount, toAccount);
+        overdrawn.setAmount(BigDecimal.valueOf(2000));
+        TransactionRequestDTO sameAccount = createTransactionRequestDTO(fromAccount, fromAccount);
+        String request = objectMapper.writeValueAsString(List.of(first, second, overdrawn, sameAccount));
+
+        Employee employee = createEmployee(101);
+        employeeRepository.save(employee);
+
+        String response = mockMvc.perform(post(Endpoints.TRANSACTIONS_EMPLOYEE_BULK_TRANSFER)
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString()))
+                        .contentType("application/json")
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].transactionStatus").value(TransactionStatus.SUCCESS.toString()))
+                .andExpect(jsonPath("$[0].transactionId").exists())
+                .andExpect(jsonPath("$[1].transactionStatus").value(TransactionStatus.SUCCESS.toString()))
+                .andExpect(jsonPath("$[2].transactionStatus").value(TransactionStatus.FAILED.toString()))
+                .andExpect(jsonPath("$[2].failureReason").value("Insufficient balance."))
+                .andExpect(jsonPath("$[2].transactionId").exists())
+                .andExpect(jsonPath("$[3].transactionStatus").value(TransactionStatus.FAILED.toString()))
+                .andExpect(jsonPath("$[3].transactionId").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(accountRepository.findById(fromAccount.getId()).orElseThrow().getBalance()));
+        assertEquals(0, BigDecimal.valueOf(4000).compareTo(accountRepository.findById(toAccount.getId()).orElseThrow().getBalance()));
+
+        Transaction settledFirst = transactionRepository.findById(((Number) JsonPath.read(response, "$[0].transactionId")).longValue()).orElseThrow();
+        Transaction settledSecond = transactionRepository.findById(((Number) JsonPath.read(response, "$[1].transactionId")).longValue()).orElseThrow();
+        Transaction rejected = transactionRepository.findById(((Number) JsonPath.read(response, "$[2].transactionId")).longValue()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(3000).compareTo(settledFirst.getFromBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(2000).compareTo(settledFirst.getToBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(settledSecond.getFromBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(4000).compareTo(settledSecond.getToBalanceAfter()));
+        assertNull(rejected.getFromBalanceAfter());
+        assertNull(rejected.getToBalanceAfter());
+
+        Specification<Notification> toSpec = NotificationSpecifications.forCustomer(toCustomer);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertEquals(2, notificationRepository.findAll(toSpec).size()));
+    }
+
+    @Test
+    public void whenBulkTransferRetriedWithIdempotencyKey_ThenReplayed() throws Exception {
+        Customer fromCustomer = createCustomer(256);
+        Customer toCustomer = createCustomer(257);
+        Account fromAccount = createAccount();
+        fromAccount.setBalance(BigDecimal.valueOf(5000));
+        Account toAccount = createAccount();
+        fromCustomer.addAccount(fromAccount);
+        toCustomer.addAccount(toAccount);
+        customerRepository.saveAll(List.of(fromCustomer, toCustomer));
+        accountRepository.saveAll(List.of(fromAccount, toAccount));
+
+        List<TransactionRequestDTO> requestDTOS = List.of(createTransactionRequestDTO(fromAccount, toAccount),
+                createTransactionRequestDTO(fromAccount, toAccount));
+        String request = objectMapper.writeValueAsString(requestDTOS);
+        String idempotencyKey = "bulk-" + fromAccount.getId() + "-" + toAccount.getId();
+
+        Employee employee = createEmployee(105);
+        employeeRepository.save(employee);
+
+        String response = mockMvc.perform(post(Endpoints.TRANSACTIONS_EMPLOYEE_BULK_TRANSFER)
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString()))
+                        .header(IdempotencyService.HEADER, idempotencyKey)
+                        .contentType("application/json")
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER))
+                .andExpect(jsonPath("$[0].transactionStatus").value(TransactionStatus.SUCCESS.toString()))
+                .andExpect(jsonPath("$[1].transactionStatus").value(TransactionStatus.SUCCESS.toString()))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post(Endpoints.TRANSACTIONS_EMPLOYEE_BULK_TRANSFER)
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString()))
+                        .header(IdempotencyService.HEADER, idempotencyKey)
+                        .contentType("application/json")
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].transactionId").value((Object) JsonPath.read(response, "$[0].transactionId")))
+                .andExpect(jsonPath("$[1].transactionId").value((Object) JsonPath.read(response, "$[1].transactionId")));
+
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(accountRepository.findById(fromAccount.getId()).orElseThrow().getBalance()));
+        assertEquals(0, BigDecimal.valueOf(4000).compareTo(accountRepository.findById(toAccount.getId()).orElseThrow().getBalance()));
+
+        mockMvc.perform(post(Endpoints.TRANSACTIONS_EMPLOYEE_BULK_TRANSFER)
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString()))
+                        .header(IdempotencyService.HEADER, idempotencyKey)
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(requestDTOS.subList(0, 1))))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void whenBulkTransferChunkFailsAndIsRetried_ThenEachItemPaidOnce() throws Exception {
+        Customer fromCustomer = createCustomer(262);
+        Customer toCustomer = createCustomer(263);
+        Account fromAccount = createAccount();
+        fromAccount.setBalance(BigDecimal.valueOf(5000));
+        Account toAccount = createAccount();
+        fromCustomer.addAccount(fromAccount);
+        toCustomer.addAccount(toAccount);
+        customerRepository.saveAll(List.of(fromCustomer, toCustomer));
+        accountRepository.saveAll(List.of(fromAccount, toAccount));
+
+        List<TransactionRequestDTO> requestDTOS = new ArrayList<>();
+        requestDTOS.add(createTransactionRequestDTO(fromAccount, toAccount));
+        while(requestDTOS.size() < 500){
+            TransactionRequestDTO rejected = new TransactionRequestDTO();
+            rejected.setAmount(BigDecimal.ONE);
+            requestDTOS.add(rejected);
+        }
+        TransactionRequestDTO secondChunk = createTransactionRequestDTO(fromAccount, toAccount);
+        secondChunk.setAmount(new BigDecimal("777.77"));
+        requestDTOS.add(secondChunk);
+        String request = objectMapper.writeValueAsString(requestDTOS);
+        String idempotencyKey = "bulk-retry-" + fromAccount.getId() + "-" + toAccount.getId();
+
+        Employee employee = createEmployee(107);
+        employeeRepository.save(employee);
+
+        jdbcTemplate.execute("ALTER TABLE transactions ADD CONSTRAINT fail_bulk_retry_test CHECK (amount <> 777.77) NOT VALID");
+        String response;
+        try {
+            response = mockMvc.perform(post(Endpoints.TRANSACTIONS_EMPLOYEE_BULK_TRANSFER)
+                            .with(user(employee.getUsername()).roles(employee.getRole().toString()))
+                            .header(IdempotencyService.HEADER, idempotencyKey)
+                            .contentType("application/json")
+                            .content(request))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].transactionStatus").value(TransactionStatus.SUCCESS.toString()))
+                    .andExpect(jsonPath("$[500].transactionStatus").value(TransactionStatus.FAILED.toString()))
+                    .andExpect(jsonPath("$[500].failureReason").value("Settlement failed."))
+                    .andReturn().getResponse().getContentAsString();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE transactions DROP CONSTRAINT fail_bulk_retry_test");
+        }
+
+        mockMvc.perform(post(Endpoints.TRANSACTIONS_EMPLOYEE_BULK_TRANSFER)
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString()))
+                        .header(IdempotencyService.HEADER, idempotencyKey)
+                        .contentType("application/json")
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyService.REPLAYED_HEADER))
+                .andExpect(jsonPath("$.length()").value(501))
+                .andExpect(jsonPath("$[0].transactionId").value((Object) JsonPath.read(response, "$[0].transactionId")))
+                .andExpect(jsonPath("$[500].transactionStatus").value(TransactionStatus.SUCCESS.toString()));
+
+        mockMvc.perform(post(Endpoints.TRANSACTIONS_EMPLOYEE_BULK_TRANSFER)
+                        .with(user(employee.getUsername()).roles(employee.getRole().toString()))
+                        .header(IdempotencyService.HEADER, idempotencyKey)
+                        .contentType("application/json")
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"));
+
+        assertEquals(0, new BigDecimal("2222.23").compareTo(accountRepository.findById(fromAccount.getId()).orElseThrow().getBalance()));
+        assertEquals(0, new BigDecimal("2777.77").compareTo(accountRepository.findById(toAccount.getId()).orElseThrow().getBalance()));
+        assertEquals(2, transactionRepository.count(TransactionSpecifications.forFromAccounts(fromAccount)));
     }
 
     @Test
@@ -906,4 +1276,291 @@ public class TransactionTests {
                 .andExpect(jsonPath("$.transactionStatus").value(TransactionStatus.FAILED.toString()))
                 .andExpect(jsonPath("$.handledBy").value(employee.getName()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenTransferFund_LimitReachedAcrossTransfers_ThenFailure() throws Exception {
+        Customer fromCustomer = createCustomer(223);
+        Customer toCustomer = createCustomer(224);
+        Account fromAccount = createAccount();
+        fromAccount.setBalance(BigDecimal.valueOf(100000));
+        Account toAccount = createAccount();
+        fromCustomer.addAccount(fromAccount);
+        toCustomer.addAccount(toAccount);
+        customerRepository.saveAll(List.of(fromCustomer, toCustomer));
+        accountRepository.saveAll(List.of(fromAccount, toAccount));
+
+        TransactionRequestDTO requestDTO = createTransactionRequestDTO(fromAccount, toAccount);
+        requestDTO.setAmount(BigDecimal.valueOf(30000));
+        String request = objectMapper.writeValueAsString(requestDTO);
+
+        mockMvc.perform(post(Endpoints.TRANSACTIONS_CUSTOMER_TRANSFER)
+                        .with(user(fromCustomer.getUsername()).roles(fromCustomer.getRole().toString()))
+                        .contentType("application/json")
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.transactionStatus").value(TransactionStatus.SUCCESS.toString()));
+
+        mockMvc.perform(post(Endpoints.TRANSACTIONS_CUSTOMER_TRANSFER)
+                        .with(user(fromCustomer.getUsername()).roles(fromCustomer.getRole().toString()))
+                        .contentType("application/json")
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.failureReason").value(("Daily payment limit reached.")))
+                .andExpect(jsonPath("$.transactionStatus").value(TransactionStatus.FAILED.toString()));
+
+        Account updatedFromAccount = accountRepository.findById(fromAccount.getId()).orElseThrow();
+        assertEquals(0, updatedFromAccount.getBalance().compareTo(BigDecimal.valueOf(70000)));
+    }
+
+    @Test
+    public void whenConcurrentTransfers_ThenBalancesConserved() throws Exception {
+        int writers = 64;
+        int transfersPerWriter = 20;
+        BigDecimal initialBalance = BigDecimal.valueOf(10000);
+        BigDecimal amount = BigDecimal.valueOf(10);
+
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Customer customer = createCustomer(225 + i);
+            Account account = createAccount();
+            account.setBalance(initialBalance);
+            customer.addAccount(account);
+            customerRepository.save(customer);
+            accounts.add(accountRepository.save(account));
+        }
+        Employee employee = createEmployee(98);
+        employeeRepository.save(employee);
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            Random random = new Random(w);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int t = 0; t < transfersPerWriter; t++) {
+                    int from = random.nextInt(accounts.size());
+                    int to = (from + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+                    transactionService.transferFundByEmployee(accounts.get(from).getId(), accounts.get(to).getId(),
+                            amount, employee.getUsername());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accounts) {
+            Account updated = accountRepository.findById(account.getId()).orElseThrow();
+            BigDecimal expected = initialBalance;
+            for (Transaction transaction : transactionRepository.findAll()) {
+                if (transaction.getTransactionStatus() != TransactionStatus.SUCCESS) continue;
+                if (transaction.getFromAccount() != null && transaction.getFromAccount().getId().equals(account.getId()))
+                    expected = expected.subtract(transaction.getAmount());
+                if (transaction.getToAccount() != null && transaction.getToAccount().getId().equals(account.getId()))
+                    expected = expected.add(transaction.getAmount());
+            }
+            assertEquals(0, expected.compareTo(updated.getBalance()));
+            total = total.add(updated.getBalance());
+        }
+        assertEquals(0, initialBalance.multiply(BigDecimal.valueOf(accounts.size())).compareTo(total));
+    }
+
+    @Test
+    public void whenBulkInsertTransactionsAndNotifications_ThenStatementsBatched() {
+        int rows = 500;
+        Customer customer = createCustomer(229);
+        Account account = createAccount();
+        customer.addAccount(account);
+        customerRepository.save(customer);
+        accountRepository.save(account);
+
+        List<Transaction> transactions = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Transaction transaction = createTransaction();
+            transaction.setToAccount(account);
+            transactions.add(transaction);
+
+            Notification notification = new Notification();
+            notification.setDate(LocalDateTime.now());
+            notification.setMessage("Bulk notification " + i);
+            notification.setNotificationType(NotificationType.INFO);
+            notification.setNotificationStatus(NotificationStatus.UNREAD);
+            notification.setCustomer(customer);
+            notifications.add(notification);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        transactionRepository.saveAll(transactions);
+        long transactionStatements = statistics.getPrepareStatementCount() - statementsBefore;
+
+        statementsBefore = statistics.getPrepareStatementCount();
+        long insertsBefore = statistics.getEntityInsertCount();
+        notificationRepository.saveAll(notifications);
+        long notificationStatements = statistics.getPrepareStatementCount() - statementsBefore;
+
+        assertEquals(rows, statistics.getEntityInsertCount() - insertsBefore);
+        assertTrue(transactionStatements <= rows / 10);
+        assertTrue(notificationStatements <= rows / 10);
+    }
+
+    @Test
+    public void whenGetAllTransactions_ThenStatementCountIndependentOfPageSize() throws Exception {
+        Customer customer = createCustomer(230);
+        Account account = createAccount();
+        customer.addAccount(account);
+        customerRepository.save(customer);
+        accountRepository.save(account);
+
+        List<Account> counterparties = new ArrayList<>();
+        for (int i = 231; i <= 235; i++) {
+            Customer other = createCustomer(i);
+            Account otherAccount = createAccount();
+            other.addAccount(otherAccount);
+            customerRepository.save(other);
+            accountRepository.save(otherAccount);
+            counterparties.add(otherAccount);
+        }
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Transaction transaction = createTransaction();
+            transaction.setTransactionType(TransactionType.TRANSFERRED);
+            Account other = counterparties.get(i % counterparties.size());
+            transaction.setFromAccount(i % 2 == 0 ? account : other);
+            transaction.setToAccount(i % 2 == 0 ? other : account);
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Long> statementCounts = new ArrayList<>();
+        for (int size : List.of(5, 5, 20)) {
+            long before = statistics.getPrepareStatementCount();
+            mockMvc.perform(get(Endpoints.CUSTOMER_TRANSACTION_ALL)
+                            .param("size", String.valueOf(size))
+                            .with(user(customer.getUsername()).roles(customer.getRole().toString())))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(size))
+                    .andExpect(jsonPath("$.content[0].otherCustomer").exists());
+            statementCounts.add(statistics.getPrepareStatementCount() - before);
+        }
+
+        // the first request warms the principal cache
+        assertEquals(statementCounts.get(1), statementCounts.get(2));
+        assertTrue(statementCounts.get(2) <= 4);
+    }
+
+    @Test
+    public void whenGetAllTransactionsByCursor_ThenFiltersKeptAndEveryTransactionReturnedOnce() throws Exception {
+        Customer customer = createCustomer(237);
+        Account account = createAccount();
+        customer.addAccount(account);
+        customerRepository.save(customer);
+        accountRepository.save(account);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Transaction transaction = createTransaction();
+            transaction.setToAccount(account);
+            transaction.setDateOfTransaction(now.minusDays(i % 4));
+            if (i % 3 == 0) transaction.setTransactionStatus(TransactionStatus.FAILED);
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+
+        Set<Integer> seen = new HashSet<>();
+        String cursor = null;
+        do {
+            var request = get(Endpoints.CUSTOMER_TRANSACTION_CURSOR)
+                    .with(user(customer.getUsername()).roles(customer.getRole().toString()))
+                    .param("size", "7")
+                    .param("status", TransactionStatus.SUCCESS.toString());
+            if (cursor != null) request.param("cursor", cursor);
+
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Integer> ids = JsonPath.read(body, "$.content[*].transactionId");
+            List<Boolean> success = JsonPath.read(body, "$.content[*].success");
+            ids.forEach(id -> assertTrue(seen.add(id)));
+            success.forEach(value -> assertTrue(value));
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+
+        assertEquals(20, seen.size());
+
+        mockMvc.perform(get(Endpoints.CUSTOMER_TRANSACTION_CURSOR)
+                        .with(user(customer.getUsername()).roles(customer.getRole().toString()))
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get(Endpoints.CUSTOMER_TRANSACTION_CURSOR)
+                        .with(user(customer.getUsername()).roles(customer.getRole().toString()))
+                        .param("size", String.valueOf(PageLimits.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Page size must not be greater than 100."));
+        mockMvc.perform(get(Endpoints.CUSTOMER_TRANSACTION_ALL)
+                        .with(user(customer.getUsername()).roles(customer.getRole().toString()))
+                        .param("size", String.valueOf(PageLimits.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void whenListingCustomerTransactions_ThenSubqueryAvoidsDistinct() {
+        Customer customer = createCustomer(238);
+        Customer other = createCustomer(239);
+        Customer third = createCustomer(253);
+        Account account0 = createAccount();
+        Account account1 = createAccount();
+        Account otherAccount = createAccount();
+        Account thirdAccount = createAccount();
+        customer.addAccount(account0);
+        customer.addAccount(account1);
+        other.addAccount(otherAccount);
+        third.addAccount(thirdAccount);
+        customerRepository.saveAll(List.of(customer, other, third));
+        accountRepository.saveAll(List.of(account0, account1, otherAccount, thirdAccount));
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Transaction transaction = createTransaction();
+            transaction.setTransactionType(TransactionType.TRANSFERRED);
+            transaction.setDateOfTransaction(LocalDateTime.now().minusMinutes(i));
+            Account own = i % 5 == 4 ? thirdAccount : i % 2 == 0 ? account0 : account1;
+            transaction.setFromAccount(i % 3 == 0 ? otherAccount : own);
+            transaction.setToAccount(i % 3 == 0 ? own : otherAccount);
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+
+        List<Long> expected = transactions.stream()
+                .filter(transaction -> transaction.getFromAccount() != thirdAccount && transaction.getToAccount() != thirdAccount)
+                .sorted(Comparator.comparing(Transaction::getDateOfTransaction).reversed())
+                .map(Transaction::getId)
+                .toList();
+
+        statementCapture.start();
+        Page<TransactionSummaryView> page = transactionRepository.findSummaries(
+                TransactionSpecifications.forCustomers(customer.getId()),
+                PageRequest.of(0, 10, Sort.by("dateOfTransaction").descending()));
+        List<String> statements = statementCapture.stop();
+
+        assertEquals(expected.size(), page.getTotalElements());
+        assertEquals(expected.subList(0, 10), page.getContent().stream().map(TransactionSummaryView::transactionId).toList());
+        assertEquals(2, statements.size());
+        Pattern subquery = Pattern.compile("in\\s*\\(+\\s*select", Pattern.CASE_INSENSITIVE);
+        for (String sql : statements) {
+            assertFalse(sql.toLowerCase().contains("distinct"), sql);
+            assertEquals(2, subquery.matcher(sql).results().count(), sql);
+        }
+    }
+}